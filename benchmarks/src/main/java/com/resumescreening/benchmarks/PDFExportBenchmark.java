@@ -0,0 +1,60 @@
+package com.resumescreening.benchmarks;
+
+import com.resumescreening.model.Candidate;
+import com.resumescreening.service.PDFExportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDFExportService.exportResults for report tables of varying length. Run
+ * with -prof gc to confirm allocation per row stays flat as reports grow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PDFExportBenchmark {
+
+    @Param({ "1000", "10000", "50000" })
+    public int rows;
+
+    private final PDFExportService exporter = new PDFExportService();
+    private List<Candidate> candidates;
+    private File target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        candidates = SyntheticData.candidates(rows);
+        target = Files.createTempFile("export-bench", ".pdf").toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(target.toPath());
+    }
+
+    @Benchmark
+    public long exportResults() throws IOException {
+        exporter.exportResults(candidates, target);
+        return target.length();
+    }
+}
@@ -0,0 +1,74 @@
+package com.resumescreening.benchmarks;
+
+import com.resumescreening.service.ParsedResume;
+import com.resumescreening.service.ResumeFieldScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single-pass field extraction versus the three regex scans it replaced
+ * (kept here verbatim as the baseline).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResumeFieldScannerBenchmark {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("(\\+\\d{1,3}[- ]?)?\\d{10}");
+
+    @Param({ "2", "16", "128" })
+    public int resumeKb;
+
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Contact details at the end so both approaches have to cover the whole text
+        String body = SyntheticData.resume(resumeKb, 11);
+        text = body.substring(body.indexOf('\n', 40) + 1) + "\nContact: jane.doe@example.com +1 5551234567\n";
+    }
+
+    @Benchmark
+    public ParsedResume singlePass() {
+        return ResumeFieldScanner.scan(text);
+    }
+
+    @Benchmark
+    public void legacyRegex(Blackhole bh) {
+        Matcher email = EMAIL_PATTERN.matcher(text);
+        bh.consume(email.find() ? email.group() : "Not Found");
+        Matcher phone = PHONE_PATTERN.matcher(text);
+        bh.consume(phone.find() ? phone.group() : "Not Found");
+
+        // estimateExperience recompiled its pattern on every call
+        Pattern expPattern = Pattern.compile("(\\d{1,2})\\+?\\s*(years?|yrs?|yr?)", Pattern.CASE_INSENSITIVE);
+        Matcher matcher = expPattern.matcher(text);
+        int highestExperience = 0;
+        while (matcher.find()) {
+            int years = Integer.parseInt(matcher.group(1));
+            if (years > highestExperience && years < 50) {
+                highestExperience = years;
+            }
+        }
+        bh.consume(highestExperience);
+    }
+}
@@ -0,0 +1,95 @@
+package com.resumescreening.benchmarks;
+
+import com.resumescreening.model.Candidate;
+import com.resumescreening.service.ResumeParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResumeParser.parseResume on plain-text and PDF resumes of varying size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResumeParserBenchmark {
+
+    @Param({ "2", "16", "128" })
+    public int resumeKb;
+
+    @Param({ "txt", "pdf" })
+    public String format;
+
+    private final ResumeParser parser = new ResumeParser();
+    private Path dir;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("resume-bench");
+        String text = SyntheticData.resume(resumeKb, 42);
+        if (format.equals("txt")) {
+            file = Files.writeString(dir.resolve("resume.txt"), text).toFile();
+        } else {
+            file = dir.resolve("resume.pdf").toFile();
+            writePdf(text, file);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file.toPath());
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public Candidate parseResume() throws IOException {
+        return parser.parseResume(file);
+    }
+
+    static void writePdf(String text, File target) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            String[] lines = text.split("\n");
+            int index = 0;
+            while (index < lines.length) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.setFont(PDType1Font.HELVETICA, 9);
+                    content.beginText();
+                    content.newLineAtOffset(40, 800);
+                    for (int row = 0; row < 70 && index < lines.length; row++, index++) {
+                        content.showText(lines[index].replaceAll("[^\\x20-\\x7E]", ""));
+                        content.newLineAtOffset(0, -11);
+                    }
+                    content.endText();
+                }
+            }
+            document.save(target);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.resumescreening.benchmarks;
+
+import com.resumescreening.model.Candidate;
+import com.resumescreening.model.JobDescription;
+import com.resumescreening.service.JobProfile;
+import com.resumescreening.service.KeywordScoringStrategy;
+import com.resumescreening.service.ScoringEngine;
+import com.resumescreening.service.SkillTaxonomy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skill analysis and keyword scoring (the offline scoring path) for varying
+ * resume and taxonomy sizes. No network is involved: the engine has no API key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoringEngineBenchmark {
+
+    @Param({ "2", "16", "128" })
+    public int resumeKb;
+
+    @Param({ "57", "1000", "5000" })
+    public int taxonomySize;
+
+    private final ScoringEngine engine = new ScoringEngine("");
+    private final KeywordScoringStrategy keyword = new KeywordScoringStrategy();
+    private SkillTaxonomy taxonomy;
+    private JobProfile profile;
+    private String resumeText;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        taxonomy = SyntheticData.taxonomy(taxonomySize);
+        engine.setTaxonomy(taxonomy);
+        profile = engine.compileProfile(new JobDescription("Bench", SyntheticData.jobDescription()));
+        resumeText = SyntheticData.resume(resumeKb, 7);
+    }
+
+    @Benchmark
+    public Candidate performSkillAnalysis() {
+        Candidate candidate = new Candidate("Bench", "bench@example.com", "5550000000", resumeText);
+        engine.performSkillAnalysis(candidate, profile);
+        return candidate;
+    }
+
+    @Benchmark
+    public double basicKeywordScore() {
+        return keyword.score(new Candidate("Bench", "", "", resumeText), profile);
+    }
+
+    @Benchmark
+    public BitSet taxonomyScan() {
+        return taxonomy.scan(resumeText).getTechnical();
+    }
+}
@@ -0,0 +1,63 @@
+package com.resumescreening.benchmarks;
+
+import com.resumescreening.service.SkillTaxonomy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a taxonomy file with synonyms (parse and matcher compilation, the
+ * work done on every hot reload) and scanning a resume against it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkillTaxonomyBenchmark {
+
+    @Param({ "5000", "20000" })
+    public int taxonomySize;
+
+    @Param({ "0", "2" })
+    public int synonyms;
+
+    @Param({ "16" })
+    public int resumeKb;
+
+    private String file;
+    private SkillTaxonomy taxonomy;
+    private String resumeText;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = SyntheticData.taxonomyFile(taxonomySize, synonyms);
+        taxonomy = compile();
+        resumeText = SyntheticData.resume(resumeKb, 7);
+    }
+
+    @Benchmark
+    public SkillTaxonomy compile() throws IOException {
+        return SkillTaxonomy.parse(new BufferedReader(new StringReader(file)), "bench.taxonomy");
+    }
+
+    @Benchmark
+    public SkillTaxonomy.Hits scan() {
+        return taxonomy.scan(resumeText);
+    }
+}
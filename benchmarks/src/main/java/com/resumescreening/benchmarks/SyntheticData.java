@@ -0,0 +1,109 @@
+package com.resumescreening.benchmarks;
+
+import com.resumescreening.model.Candidate;
+import com.resumescreening.service.SkillTaxonomy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic generators for benchmark inputs (resumes, JDs, taxonomies,
+ * candidate lists).
+ */
+final class SyntheticData {
+
+    private static final String[] FILLER = {
+            "designed", "implemented", "scalable", "services", "team", "delivered", "platform", "customer",
+            "improved", "performance", "reliability", "owned", "roadmap", "stakeholders", "migration",
+            "architecture", "testing", "automation", "mentored", "engineers", "production", "latency",
+            "the", "and", "with", "for", "across", "using", "within", "through"
+    };
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Resume-like text of roughly {@code sizeKb} kilobytes with skill
+     * mentions, contact details and experience phrases sprinkled in.
+     */
+    static String resume(int sizeKb, long seed) {
+        Random random = new Random(seed);
+        List<String> skills = SkillTaxonomy.defaults().getTechnicalSkills();
+        StringBuilder sb = new StringBuilder(sizeKb * 1024 + 256);
+        sb.append("Jane Doe\njane.doe").append(seed).append("@example.com\n+1 5551234567\n");
+        sb.append("Bachelor of Science in Computer Science\n");
+        int line = 0;
+        while (sb.length() < sizeKb * 1024) {
+            for (int i = 0; i < 12; i++) {
+                sb.append(FILLER[random.nextInt(FILLER.length)]).append(' ');
+            }
+            if (random.nextInt(3) == 0) {
+                sb.append(skills.get(random.nextInt(skills.size()))).append(' ');
+            }
+            if (++line % 20 == 0) {
+                sb.append(2 + random.nextInt(12)).append(" years of experience, 2015 - 2020 ");
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    static String jobDescription() {
+        return "We are hiring a Backend Developer with Java, Spring, SQL, Docker, Kubernetes and AWS. "
+                + "Experience with microservices, REST API design and CI/CD is a plus. "
+                + "Strong communication and teamwork skills required.";
+    }
+
+    /**
+     * The default taxonomy padded with synthetic technical skills up to
+     * {@code size} entries.
+     */
+    static SkillTaxonomy taxonomy(int size) {
+        SkillTaxonomy defaults = SkillTaxonomy.defaults();
+        List<String> technical = new ArrayList<>(defaults.getTechnicalSkills());
+        Random random = new Random(size);
+        while (technical.size() < size) {
+            technical.add("tech" + Integer.toString(random.nextInt(1 << 24), 36) + "-" + technical.size());
+        }
+        return new SkillTaxonomy(technical, defaults.getSoftSkills(), defaults.getEducationKeywords());
+    }
+
+    /**
+     * Taxonomy file text with the default keywords plus synthetic technical
+     * skills up to {@code size} entries, each with {@code synonyms}
+     * alternative spellings.
+     */
+    static String taxonomyFile(int size, int synonyms) {
+        SkillTaxonomy defaults = SkillTaxonomy.defaults();
+        StringBuilder text = new StringBuilder("[technical]\n");
+        Random random = new Random(size);
+        for (int i = 0; i < size; i++) {
+            String skill = i < defaults.getTechnicalSkills().size() ? defaults.getTechnicalSkills().get(i)
+                    : "tech" + Integer.toString(random.nextInt(1 << 24), 36) + "-" + i;
+            text.append(skill);
+            for (int s = 0; s < synonyms; s++) {
+                text.append(s == 0 ? " = " : ", ").append("alt").append(s).append('-').append(skill);
+            }
+            text.append('\n');
+        }
+        text.append("[soft]\n");
+        defaults.getSoftSkills().forEach(skill -> text.append(skill).append('\n'));
+        text.append("[education]\n");
+        defaults.getEducationKeywords().forEach(keyword -> text.append(keyword).append('\n'));
+        return text.toString();
+    }
+
+    static List<Candidate> candidates(int count) {
+        Random random = new Random(count);
+        String[] roles = { "Backend Developer", "Frontend Developer", "DevOps Engineer", "Fullstack Developer" };
+        List<Candidate> candidates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Candidate c = new Candidate("Candidate " + i, "candidate" + i + "@example.com", "5550000000", "");
+            c.setScore(random.nextDouble() * 100);
+            c.setRecommendedRole(roles[random.nextInt(roles.length)]);
+            candidates.add(c);
+        }
+        return candidates;
+    }
+}
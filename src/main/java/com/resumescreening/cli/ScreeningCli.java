@@ -0,0 +1,260 @@
+package com.resumescreening.cli;
+
+import com.resumescreening.model.Candidate;
+import com.resumescreening.model.JobDescription;
+import com.resumescreening.service.BatchAnalyzer;
+import com.resumescreening.service.JobProfile;
+import com.resumescreening.service.KeywordScoringStrategy;
+import com.resumescreening.service.PipelineMetrics;
+import com.resumescreening.service.ResultExporter;
+import com.resumescreening.service.ResumeParser;
+import com.resumescreening.service.ScoringEngine;
+import com.resumescreening.service.SkillTaxonomy;
+import com.resumescreening.service.TfIdfScoringStrategy;
+import com.resumescreening.service.TopKRanker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Headless entry point for batch screening (servers, nightly jobs).
+ * Uses only the service layer, so no JavaFX classes are loaded.
+ *
+ * Usage:
+ * ScreeningCli --jd job.txt --resumes ./resumes [--threads N] [--top K]
+ * [--format csv|jsonl] [--out results.csv] [--scorer keyword|tfidf]
+ * [--api-key KEY] [--taxonomy FILE] [--metrics SECONDS]
+ *
+ * Without --top, rows are written as soon as each resume is analyzed.
+ * With --top K, only the best K are kept and written in rank order at the end.
+ * If the remote model fails part-way through a run, the remaining resumes are
+ * scored locally and the scorer column tells the two apart; with --top the
+ * whole pool is then ranked again locally so the best K are picked on one
+ * scale.
+ * The API key may also be given through the HF_API_KEY environment variable.
+ * --taxonomy replaces the built-in skill list (see skills.taxonomy for the
+ * file format).
+ * With --metrics, per-stage timings are printed to stderr at that interval
+ * and once more at the end; they are also available over JMX while running.
+ */
+public class ScreeningCli {
+
+    private static final String USAGE = "Usage: ScreeningCli --jd <file> --resumes <dir> [--threads N] [--top K]"
+            + " [--format csv|jsonl] [--out <file>] [--scorer keyword|tfidf] [--api-key KEY]"
+            + " [--taxonomy <file>] [--metrics SECONDS]";
+
+    private Path jdFile;
+    private Path resumeDir;
+    private Path outFile;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int topK = 0;
+    private String format = "csv";
+    private String scorer = "keyword";
+    private String apiKey = System.getenv().getOrDefault("HF_API_KEY", "");
+    private Path taxonomyFile;
+    private int metricsSeconds = 0;
+
+    public static void main(String[] args) {
+        ScreeningCli cli = new ScreeningCli();
+        try {
+            cli.parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        try {
+            int failures = cli.run();
+            System.exit(failures == 0 ? 0 : 1);
+        } catch (Exception e) {
+            System.err.println("Screening failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--help") || arg.equals("-h"))
+                throw new IllegalArgumentException("Smart Hire headless batch screening");
+            if (i + 1 >= args.length)
+                throw new IllegalArgumentException("Missing value for " + arg);
+            String value = args[++i];
+            switch (arg) {
+                case "--jd":
+                    jdFile = Paths.get(value);
+                    break;
+                case "--resumes":
+                    resumeDir = Paths.get(value);
+                    break;
+                case "--out":
+                    outFile = Paths.get(value);
+                    break;
+                case "--threads":
+                    threads = parsePositive(arg, value);
+                    break;
+                case "--top":
+                    topK = parsePositive(arg, value);
+                    break;
+                case "--format":
+                    if (!value.equals("csv") && !value.equals("jsonl"))
+                        throw new IllegalArgumentException("Unknown format: " + value);
+                    format = value;
+                    break;
+                case "--scorer":
+                    if (!value.equals("keyword") && !value.equals("tfidf"))
+                        throw new IllegalArgumentException("Unknown scorer: " + value);
+                    scorer = value;
+                    break;
+                case "--api-key":
+                    apiKey = value;
+                    break;
+                case "--taxonomy":
+                    taxonomyFile = Paths.get(value);
+                    break;
+                case "--metrics":
+                    metricsSeconds = parsePositive(arg, value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (jdFile == null || resumeDir == null)
+            throw new IllegalArgumentException("--jd and --resumes are required");
+    }
+
+    private static int parsePositive(String option, String value) {
+        try {
+            int n = Integer.parseInt(value);
+            if (n > 0)
+                return n;
+        } catch (NumberFormatException e) {
+            // Fall through
+        }
+        throw new IllegalArgumentException(option + " expects a positive number: " + value);
+    }
+
+    /**
+     * Runs the batch and returns the number of resumes that failed.
+     */
+    private int run() throws IOException {
+        JobDescription jd = new JobDescription(jdFile.getFileName().toString(), Files.readString(jdFile));
+        List<File> files = listResumes(resumeDir);
+
+        ScoringEngine engine = new ScoringEngine(apiKey);
+        engine.setLocalStrategy(scorer.equals("tfidf") ? new TfIdfScoringStrategy() : new KeywordScoringStrategy());
+        engine.setCompactCandidates(true); // Resume text is not needed once a row is analyzed
+        if (taxonomyFile != null) {
+            engine.setTaxonomy(SkillTaxonomy.load(taxonomyFile));
+        }
+        JobProfile profile = engine.compileProfile(jd);
+        BatchAnalyzer analyzer = new BatchAnalyzer(new ResumeParser(), engine, threads);
+
+        PipelineMetrics metrics = PipelineMetrics.global();
+        PipelineMetrics.registerMBean();
+        if (metricsSeconds > 0) {
+            metrics.startPeriodicDump(Duration.ofSeconds(metricsSeconds), System.err);
+        }
+
+        ResultExporter.Format rowFormat = ResultExporter.Format.of(format);
+        try (ResultExporter out = outFile == null
+                ? new ResultExporter(Channels.newChannel(System.out), rowFormat)
+                : ResultExporter.open(outFile, rowFormat)) {
+            out.setAutoFlush(outFile == null); // Let pipes see rows as they are produced
+
+            // Keeps only the best K in memory when --top is given
+            TopKRanker best = topK > 0 ? new TopKRanker(topK) : null;
+            List<String> failures = new ArrayList<>();
+            AtomicInteger modelScored = new AtomicInteger();
+
+            analyzer.analyze(files, profile, new BatchAnalyzer.Listener() {
+                @Override
+                public void onCandidate(Candidate candidate) {
+                    if (ScoringEngine.REMOTE_SCORER.equals(candidate.getScoredBy())) {
+                        modelScored.incrementAndGet();
+                    }
+                    if (best != null) {
+                        best.offer(candidate);
+                        return;
+                    }
+                    try {
+                        out.write(candidate);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public void onFailure(File file, Exception error) {
+                    synchronized (failures) {
+                        failures.add(file.getName());
+                    }
+                    System.err.println("Failed to process " + file.getName() + ": " + error.getMessage());
+                }
+            }, false).join(); // Rows are streamed or ranked, so the analyzer need not keep them
+
+            int analyzed = files.size() - failures.size();
+            boolean mixed = modelScored.get() > 0 && modelScored.get() < analyzed;
+            if (best != null) {
+                List<Candidate> ranked = best.ranked();
+                if (mixed) {
+                    // Resumes dropped under model scores might make the top K locally
+                    System.err.printf("The model failed part-way; ranking all %d resumes again with %s scores.%n",
+                            analyzed, scorer);
+                    engine.setApiKey("");
+                    TopKRanker local = new TopKRanker(topK);
+                    analyzer.analyze(files, profile, new BatchAnalyzer.Listener() {
+                        @Override
+                        public void onCandidate(Candidate candidate) {
+                            local.offer(candidate);
+                        }
+                    }, false).join(); // Failures were reported by the first pass
+                    ranked = local.ranked();
+                }
+                for (Candidate c : ranked) {
+                    out.write(c);
+                }
+            } else if (mixed) {
+                System.err.printf("Warning: the model failed part-way; %d rows were scored by the model and %d by %s."
+                        + " Only compare rows with the same scorer.%n", modelScored.get(),
+                        analyzed - modelScored.get(), scorer);
+            }
+            System.err.printf("Processed %d resumes (%d failed).%n", files.size(), failures.size());
+            return failures.size();
+        } finally {
+            analyzer.shutdown();
+            if (metricsSeconds > 0) {
+                metrics.stopPeriodicDump();
+                System.err.print(metrics.getSnapshot());
+            }
+        }
+    }
+
+    private static List<File> listResumes(Path dir) throws IOException {
+        if (!Files.isDirectory(dir))
+            throw new IOException("Not a directory: " + dir);
+        try (Stream<Path> paths = Files.list(dir)) {
+            return paths
+                    .filter(Files::isRegularFile)
+                    .filter(p -> {
+                        String name = p.getFileName().toString().toLowerCase();
+                        return name.endsWith(".pdf") || name.endsWith(".txt");
+                    })
+                    .sorted()
+                    .map(Path::toFile)
+                    .collect(Collectors.toList());
+        }
+    }
+}
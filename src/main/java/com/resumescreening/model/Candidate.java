@@ -1,7 +1,15 @@
 package com.resumescreening.model;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * Represents a job candidate.
@@ -12,12 +20,43 @@ public class Candidate extends Person {
     private String education;
     private int experienceYears;
     private String rawText; // The full text content of the resume
+    private byte[] compressedText; // Replaces rawText once compacted
     private double currentScore; // To store the latest analysis score
+    private String sourcePath; // File the resume was parsed from, null for hand-made candidates
 
     public Candidate(String name, String email, String phone, String rawText) {
         super(name, email, phone);
         this.rawText = rawText;
-        this.skills = new ArrayList<>();
+    }
+
+    /**
+     * Copy that can be re-analyzed or re-scored without affecting
+     * {@code other}. Skill ids, vocabularies and compressed text are never
+     * modified in place, so they are shared.
+     */
+    public Candidate(Candidate other) {
+        super(other.getName(), other.getEmail(), other.getPhone());
+        this.skills = copy(other.skills);
+        this.education = other.education;
+        this.experienceYears = other.experienceYears;
+        this.rawText = other.rawText;
+        this.compressedText = other.compressedText;
+        this.currentScore = other.currentScore;
+        this.sourcePath = other.sourcePath;
+        this.scoredBy = other.scoredBy;
+        this.matchedSkills = copy(other.matchedSkills);
+        this.missingSkills = copy(other.missingSkills);
+        this.recommendedRole = other.recommendedRole;
+        this.analysisDetails = other.analysisDetails;
+        this.analysisRenderer = other.analysisRenderer;
+        this.matchedSoftSkills = copy(other.matchedSoftSkills);
+        this.educationSummary = other.educationSummary;
+        this.skillVocabulary = other.skillVocabulary;
+        this.technicalSkillIds = other.technicalSkillIds;
+        this.requiredSkillIds = other.requiredSkillIds;
+        this.softSkillVocabulary = other.softSkillVocabulary;
+        this.softSkillIds = other.softSkillIds;
+        this.skillListsSet = other.skillListsSet;
     }
 
     @Override
@@ -37,13 +76,42 @@ public class Candidate extends Person {
         return currentScore;
     }
 
+    public String getSourcePath() {
+        return sourcePath;
+    }
+
+    public void setSourcePath(String sourcePath) {
+        this.sourcePath = sourcePath;
+    }
+
+    private String scoredBy = ""; // Which scorer produced currentScore, e.g. "model" or "keyword"
+
+    public String getScoredBy() {
+        return scoredBy;
+    }
+
+    public void setScoredBy(String scoredBy) {
+        this.scoredBy = scoredBy;
+    }
+
     // Getters and Setters
+
+    /**
+     * The candidate's skill list; changes to it are kept. It is created on
+     * first use from the technical skills found by the analysis, so
+     * candidates that never ask for it hold only the skill ids. A new
+     * analysis ({@link #setSkillIds}) starts it over.
+     */
     public List<String> getSkills() {
+        if (skills == null) {
+            skills = skillVocabulary == null ? new ArrayList<>()
+                    : new ArrayList<>(names(skillVocabulary, technicalSkillIds));
+        }
         return skills;
     }
 
     public void addSkill(String skill) {
-        this.skills.add(skill);
+        getSkills().add(skill);
     }
 
     public String getEducation() {
@@ -63,33 +131,75 @@ public class Candidate extends Person {
     }
 
     public String getRawText() {
+        byte[] compressed = compressedText;
+        if (compressed != null)
+            return inflate(compressed);
         return rawText;
     }
 
+    /**
+     * Keeps the resume text only in compressed form. {@link #getRawText()}
+     * still works but decompresses on every call, so this is meant for
+     * candidates whose text is rarely needed again after analysis.
+     */
+    public void compactText() {
+        String text = rawText;
+        if (text != null && compressedText == null) {
+            compressedText = deflate(text);
+            rawText = null;
+        }
+    }
+
+    public boolean isTextCompacted() {
+        return compressedText != null;
+    }
+
     // Analytics Fields
     private List<String> matchedSkills = new ArrayList<>();
     private List<String> missingSkills = new ArrayList<>();
     private String recommendedRole = "Generalist";
     private String analysisDetails = "";
+    private Function<Candidate, String> analysisRenderer; // Renders the report on demand instead
 
     public String getAnalysisDetails() {
+        Function<Candidate, String> renderer = analysisRenderer;
+        if (renderer != null)
+            return renderer.apply(this);
         return analysisDetails;
     }
 
     public void setAnalysisDetails(String analysisDetails) {
         this.analysisDetails = analysisDetails;
+        this.analysisRenderer = null;
+    }
+
+    /**
+     * Builds the analysis report from the current fields each time it is
+     * requested instead of storing it, so it also reflects later score changes.
+     */
+    public void setAnalysisRenderer(Function<Candidate, String> analysisRenderer) {
+        this.analysisRenderer = analysisRenderer;
+        this.analysisDetails = null;
     }
 
     // New Structured Data for Cards
     private List<String> matchedSoftSkills = new ArrayList<>();
     private String educationSummary = "Not specified";
 
+    /**
+     * Like the matched and missing skills, this is a read-only snapshot
+     * while the candidate holds skill ids, and the list last set otherwise.
+     */
     public List<String> getMatchedSoftSkills() {
+        if (softSkillVocabulary != null)
+            return names(softSkillVocabulary, softSkillIds);
         return matchedSoftSkills;
     }
 
     public void setMatchedSoftSkills(List<String> matchedSoftSkills) {
         this.matchedSoftSkills = matchedSoftSkills;
+        this.softSkillVocabulary = null;
+        this.softSkillIds = null;
     }
 
     public String getEducationSummary() {
@@ -100,22 +210,95 @@ public class Candidate extends Person {
         this.educationSummary = educationSummary;
     }
 
+    /**
+     * Derived from the skill ids on each call while the candidate holds them,
+     * as a read-only snapshot; otherwise the list last set.
+     */
     public List<String> getMatchedSkills() {
+        if (requiredSkillIds != null) {
+            BitSet matched = (BitSet) technicalSkillIds.clone();
+            matched.and(requiredSkillIds);
+            return names(skillVocabulary, matched);
+        }
         return matchedSkills;
     }
 
     public void setMatchedSkills(List<String> matchedSkills) {
+        leaveSkillIds();
         this.matchedSkills = matchedSkills;
     }
 
     public List<String> getMissingSkills() {
+        if (requiredSkillIds != null) {
+            BitSet missing = (BitSet) requiredSkillIds.clone();
+            missing.andNot(technicalSkillIds);
+            return names(skillVocabulary, missing);
+        }
         return missingSkills;
     }
 
     public void setMissingSkills(List<String> missingSkills) {
+        leaveSkillIds();
         this.missingSkills = missingSkills;
     }
 
+    // Switches matched/missing skills to list form, keeping both derived lists
+    private void leaveSkillIds() {
+        if (requiredSkillIds != null) {
+            this.matchedSkills = new ArrayList<>(getMatchedSkills());
+            this.missingSkills = new ArrayList<>(getMissingSkills());
+            this.requiredSkillIds = null;
+        }
+        this.skillListsSet = true;
+    }
+
+    // Compact skill representation: indices into shared vocabularies instead of
+    // per-candidate string lists. Also lets a JD edit be re-matched without
+    // rescanning the text. Null until analyzed.
+    private List<String> skillVocabulary;
+    private BitSet technicalSkillIds; // Found in the resume
+    private BitSet requiredSkillIds; // Shared with the JD profile, never modified
+    private List<String> softSkillVocabulary;
+    private BitSet softSkillIds;
+    private boolean skillListsSet; // Matched/missing were set by hand since the last analysis
+
+    /**
+     * Stores the analysis result as skill ids. Matched and missing skills are
+     * derived from {@code technicalIds} and {@code requiredIds}; the
+     * vocabularies and {@code requiredIds} are shared, not copied.
+     */
+    public void setSkillIds(List<String> vocabulary, BitSet technicalIds, BitSet requiredIds,
+            List<String> softVocabulary, BitSet softIds) {
+        this.skillVocabulary = vocabulary;
+        this.technicalSkillIds = technicalIds;
+        this.requiredSkillIds = requiredIds;
+        this.softSkillVocabulary = softVocabulary;
+        this.softSkillIds = softIds;
+        this.skills = null;
+        this.skillListsSet = false;
+        // Drop any list form so memory is only held by the bitsets
+        this.matchedSkills = List.of();
+        this.missingSkills = List.of();
+        this.matchedSoftSkills = List.of();
+    }
+
+    /**
+     * Re-matches the stored technical skills against new required ids.
+     * Matched or missing skills set by hand since the last analysis are kept,
+     * so this does nothing for such candidates.
+     */
+    public void setRequiredSkillIds(BitSet requiredIds) {
+        if (technicalSkillIds == null)
+            throw new IllegalStateException("Candidate has no skill ids: " + getName());
+        if (!skillListsSet) {
+            this.requiredSkillIds = requiredIds;
+        }
+    }
+
+    public BitSet getTechnicalSkillIds() {
+        return technicalSkillIds;
+    }
+
     public String getRecommendedRole() {
         return recommendedRole;
     }
@@ -124,6 +307,54 @@ public class Candidate extends Person {
         this.recommendedRole = recommendedRole;
     }
 
+    private static List<String> copy(List<String> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
+    private static List<String> names(List<String> vocabulary, BitSet ids) {
+        List<String> names = new ArrayList<>(ids.cardinality());
+        for (int i = ids.nextSetBit(0); i >= 0; i = ids.nextSetBit(i + 1)) {
+            names.add(vocabulary.get(i));
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    private static byte[] deflate(String text) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(text.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, text.length() / 3));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && inflater.needsInput())
+                    throw new IllegalStateException("Truncated resume text");
+                out.write(buffer, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt resume text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("%s (Exp: %d years) - Score: %.2f", getName(), experienceYears, currentScore);
@@ -0,0 +1,208 @@
+package com.resumescreening.service;
+
+import com.resumescreening.model.Candidate;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs the parse -> score -> skill-analysis pipeline for a batch of resumes in
+ * the background.
+ * Parsing and analysis are CPU bound and run on a pool sized to the machine;
+ * parsed candidates are scored in batches through a {@link ScoreBatcher} so
+ * slow API calls wait on futures and never hold a worker thread.
+ * Local strategies that need corpus statistics are scored after the whole
+ * pool has been parsed.
+ * Results are pushed to a {@link Listener} as each candidate finishes.
+ */
+public class BatchAnalyzer {
+
+    /**
+     * Receives batch events. Callbacks are invoked from worker threads.
+     */
+    public interface Listener {
+        default void onCandidate(Candidate candidate) {
+        }
+
+        /**
+         * Same as {@link #onCandidate(Candidate)}, for listeners that need to
+         * know which file the candidate came from.
+         */
+        default void onCandidate(File file, Candidate candidate) {
+            onCandidate(candidate);
+        }
+
+        default void onFailure(File file, Exception error) {
+        }
+
+        default void onProgress(int completed, int total) {
+        }
+
+        default void onComplete(List<Candidate> candidates) {
+        }
+    }
+
+    private final ResumeParser parser;
+    private final ScoringEngine scoringEngine;
+    private final ExecutorService cpuPool;
+
+    public BatchAnalyzer(ResumeParser parser, ScoringEngine scoringEngine) {
+        this(parser, scoringEngine, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchAnalyzer(ResumeParser parser, ScoringEngine scoringEngine, int workers) {
+        this.parser = parser;
+        this.scoringEngine = scoringEngine;
+        this.cpuPool = Executors.newFixedThreadPool(Math.max(1, workers), daemonThreads("resume-worker"));
+    }
+
+    /**
+     * Starts analyzing the files and returns immediately.
+     * The returned future completes with every successfully analyzed candidate
+     * once the whole batch is done.
+     * If the scoring strategy needs corpus statistics, all files are parsed
+     * first and scoring starts once the pool is known.
+     */
+    public CompletableFuture<List<Candidate>> analyze(List<File> files, JobProfile profile, Listener listener) {
+        return analyze(files, profile, listener, true);
+    }
+
+    /**
+     * Same as {@link #analyze(List, JobProfile, Listener)}, but with
+     * {@code retainResults} false candidates are only handed to the listener
+     * and never collected, so memory does not grow with the pool size. The
+     * returned future and {@link Listener#onComplete(List)} then get an
+     * empty list.
+     */
+    public CompletableFuture<List<Candidate>> analyze(List<File> files, JobProfile profile, Listener listener,
+            boolean retainResults) {
+        int total = files.size();
+        AtomicInteger completed = new AtomicInteger();
+        List<Candidate> results = Collections.synchronizedList(new ArrayList<>(retainResults ? total : 0));
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(total);
+
+        List<CompletableFuture<Candidate>> parsing = new ArrayList<>(total);
+        for (File file : files) {
+            parsing.add(CompletableFuture.supplyAsync(() -> parse(file), cpuPool));
+        }
+
+        Function<CompletableFuture<Candidate>, CompletableFuture<Candidate>> scoring = scoringEngine.needsCorpus()
+                ? corpusScoring(parsing, profile)
+                : batchedScoring(total, profile);
+
+        for (int i = 0; i < total; i++) {
+            File file = files.get(i);
+            CompletableFuture<Void> task = scoring.apply(parsing.get(i))
+                    .thenApplyAsync(c -> {
+                        scoringEngine.performSkillAnalysis(c, profile);
+                        return c;
+                    }, cpuPool)
+                    .handle((candidate, error) -> {
+                        if (error != null) {
+                            listener.onFailure(file, unwrap(error));
+                        } else {
+                            if (retainResults) {
+                                results.add(candidate);
+                            }
+                            listener.onCandidate(file, candidate);
+                        }
+                        listener.onProgress(completed.incrementAndGet(), total);
+                        return null;
+                    });
+            tasks.add(task);
+        }
+
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<Candidate> snapshot;
+                    synchronized (results) {
+                        snapshot = new ArrayList<>(results);
+                    }
+                    // A breaker trip mid-batch leaves early candidates with remote scores
+                    scoringEngine.alignScorers(snapshot, profile);
+                    listener.onComplete(snapshot);
+                    return snapshot;
+                });
+    }
+
+    // Streaming path: parsed candidates are grouped into batched similarity requests
+    private Function<CompletableFuture<Candidate>, CompletableFuture<Candidate>> batchedScoring(int total,
+            JobProfile profile) {
+        ScoreBatcher batcher = scoringEngine.newScoreBatcher(profile);
+        AtomicInteger parsed = new AtomicInteger();
+        return parsedFuture -> parsedFuture
+                .handle((c, error) -> {
+                    CompletableFuture<Double> score = error == null ? batcher.submit(c) : null;
+                    if (parsed.incrementAndGet() == total) {
+                        batcher.flush(); // Last file parsed: send the remaining partial batch
+                    }
+                    if (error != null) {
+                        throw error instanceof CompletionException
+                                ? (CompletionException) error
+                                : new CompletionException(error);
+                    }
+                    return score.thenApply(value -> {
+                        c.setScore(value);
+                        return c;
+                    });
+                })
+                .thenCompose(scored -> scored);
+    }
+
+    // Two-phase path: corpus statistics over every parsed resume, then scoring
+    private Function<CompletableFuture<Candidate>, CompletableFuture<Candidate>> corpusScoring(
+            List<CompletableFuture<Candidate>> parsing, JobProfile profile) {
+        CompletableFuture<Void> corpusReady = CompletableFuture
+                .allOf(parsing.stream().map(f -> f.exceptionally(e -> null)).toArray(CompletableFuture<?>[]::new))
+                .thenRunAsync(() -> {
+                    List<Candidate> pool = new ArrayList<>(parsing.size());
+                    for (CompletableFuture<Candidate> f : parsing) {
+                        if (!f.isCompletedExceptionally()) {
+                            pool.add(f.join());
+                        }
+                    }
+                    scoringEngine.prepareCorpus(pool);
+                }, cpuPool);
+        return parsed -> parsed
+                .thenCombine(corpusReady, (c, ignored) -> c)
+                .thenComposeAsync(c -> scoringEngine.calculateScoreAsync(c, profile).thenApply(score -> {
+                    c.setScore(score);
+                    return c;
+                }), cpuPool);
+    }
+
+    public void shutdown() {
+        cpuPool.shutdownNow();
+    }
+
+    private Candidate parse(File file) {
+        try {
+            return parser.parseResume(file);
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+    }
+
+    static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.resumescreening.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread-safe least-recently-used map bounded by a total weight.
+ * With the default weigher every entry weighs 1, so the bound is simply the
+ * number of entries.
+ */
+public class BoundedLruCache<K, V> {
+
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ToLongFunction<V> weigher;
+    private final long maxWeight;
+    private long totalWeight;
+
+    public BoundedLruCache(long maxEntries) {
+        this(maxEntries, value -> 1);
+    }
+
+    public BoundedLruCache(long maxWeight, ToLongFunction<V> weigher) {
+        if (maxWeight < 1)
+            throw new IllegalArgumentException("Cache bound must be positive: " + maxWeight);
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        long weight = weigher.applyAsLong(value);
+        if (weight > maxWeight)
+            return; // Would evict everything else; not worth caching
+        V previous = entries.put(key, value);
+        if (previous != null) {
+            totalWeight -= weigher.applyAsLong(previous);
+        }
+        totalWeight += weight;
+
+        // Evict least recently used entries until we are back under the bound
+        Iterator<Map.Entry<K, V>> it = entries.entrySet().iterator();
+        while (totalWeight > maxWeight && it.hasNext()) {
+            Map.Entry<K, V> eldest = it.next();
+            totalWeight -= weigher.applyAsLong(eldest.getValue());
+            it.remove();
+        }
+    }
+
+    public synchronized V remove(K key) {
+        V removed = entries.remove(key);
+        if (removed != null) {
+            totalWeight -= weigher.applyAsLong(removed);
+        }
+        return removed;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return totalWeight;
+    }
+}
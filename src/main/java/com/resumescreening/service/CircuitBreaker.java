@@ -0,0 +1,117 @@
+package com.resumescreening.service;
+
+import java.time.Duration;
+
+/**
+ * Stops calling a remote endpoint that keeps failing.
+ * After {@code failureThreshold} consecutive failures the breaker opens and
+ * every request is refused for {@code openDuration}. It then lets a single
+ * trial request through: success closes it again, failure re-opens it.
+ * Every request asks for a {@link Permit} before it is sent and reports its
+ * outcome with that permit. Outcomes of requests that were let through
+ * before the breaker opened no longer change its state, so only the trial
+ * decides whether it closes.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    enum Permit {
+        /** Refused; the request must not be sent. */
+        DENIED,
+        /** Sent while the breaker was closed. */
+        NORMAL,
+        /** The one trial request of a half-open breaker. */
+        TRIAL
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean trialInFlight;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration) {
+        if (failureThreshold < 1)
+            throw new IllegalArgumentException("Failure threshold must be at least 1: " + failureThreshold);
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Asks to send a new request now.
+     */
+    synchronized Permit acquire() {
+        switch (state) {
+            case CLOSED:
+                return Permit.NORMAL;
+            case OPEN:
+                if (System.nanoTime() - openUntil < 0)
+                    return Permit.DENIED;
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return Permit.TRIAL;
+            default:
+                if (trialInFlight)
+                    return Permit.DENIED;
+                trialInFlight = true;
+                return Permit.TRIAL;
+        }
+    }
+
+    /**
+     * Returns true if a request holding this permit may still be sent (or
+     * retried), e.g. after waiting in a queue. A normal request is stopped
+     * once the breaker has opened; the trial goes ahead while half-open.
+     */
+    synchronized boolean allows(Permit permit) {
+        switch (permit) {
+            case NORMAL:
+                return state == State.CLOSED;
+            case TRIAL:
+                return state == State.HALF_OPEN;
+            default:
+                return false;
+        }
+    }
+
+    synchronized void recordSuccess(Permit permit) {
+        if (!isCurrent(permit))
+            return;
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Records a failed request. Returns true if this failure opened the breaker.
+     */
+    synchronized boolean recordFailure(Permit permit) {
+        if (!isCurrent(permit))
+            return false;
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openUntil = System.nanoTime() + openNanos;
+            return true;
+        }
+        return false;
+    }
+
+    // Late outcomes of requests sent before the breaker opened are ignored
+    private boolean isCurrent(Permit permit) {
+        return permit == Permit.TRIAL ? state == State.HALF_OPEN : state == State.CLOSED;
+    }
+
+    Duration getOpenDuration() {
+        return Duration.ofNanos(openNanos);
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+}
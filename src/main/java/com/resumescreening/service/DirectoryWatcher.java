@@ -0,0 +1,270 @@
+package com.resumescreening.service;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a drop folder and hands new or changed resumes (.pdf/.txt) to a
+ * {@link Handler} in small batches.
+ * File events are debounced per file, so a resume that is still being copied
+ * is only picked up once it has been quiet for the debounce period. The next
+ * batch is not handed out until the previous one has been processed, and at
+ * most {@code maxPending} files are remembered while waiting; beyond that
+ * (or when the OS reports lost events) the folder is re-listed later
+ * instead, so a mass copy costs bounded memory and no files are missed.
+ * The watcher remembers the state in which it handed out the last
+ * {@code maxRemembered} files so an unchanged file is not processed twice;
+ * a file forgotten beyond that is only processed again if a re-listing
+ * finds it.
+ * All of this runs on one background thread.
+ */
+public class DirectoryWatcher implements Closeable {
+
+    /**
+     * Processes one batch of files. The returned future must complete when
+     * the batch is done; the watcher waits for it before the next batch.
+     */
+    public interface Handler {
+        CompletableFuture<?> onFiles(List<File> files);
+    }
+
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofSeconds(2);
+    public static final int DEFAULT_MAX_BATCH = 64;
+    public static final int DEFAULT_MAX_PENDING = 10_000;
+    public static final int DEFAULT_MAX_REMEMBERED = 100_000;
+
+    private static final long IDLE_POLL_MILLIS = 250;
+    private static final long BUSY_POLL_MILLIS = 20; // While a batch runs, to notice when it is done
+
+    private final Path directory;
+    private final Handler handler;
+    private final WatchService watchService;
+    private volatile long debounceNanos = DEFAULT_DEBOUNCE.toNanos();
+    private volatile int maxBatch = DEFAULT_MAX_BATCH;
+    private volatile int maxPending = DEFAULT_MAX_PENDING;
+    private volatile boolean running;
+    private Thread thread;
+
+    // Only touched by the watcher thread
+    private final LinkedHashMap<Path, Long> pending = new LinkedHashMap<>(); // Path -> time of last event
+    private volatile int maxRemembered = DEFAULT_MAX_REMEMBERED;
+    private final Map<Path, String> dispatched = new LinkedHashMap<>(16, 0.75f, true) { // Path -> size/mtime when last handed out
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, String> eldest) {
+            return size() > maxRemembered;
+        }
+    };
+    private boolean rescanNeeded;
+    private CompletableFuture<?> inFlight = CompletableFuture.completedFuture(null);
+
+    public DirectoryWatcher(Path directory, Handler handler) throws IOException {
+        if (!Files.isDirectory(directory))
+            throw new IOException("Not a directory: " + directory);
+        this.directory = directory.toAbsolutePath().normalize();
+        this.handler = handler;
+        this.watchService = this.directory.getFileSystem().newWatchService();
+        this.directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    /**
+     * How long a file must go without events before it is processed.
+     */
+    public void setDebounce(Duration debounce) {
+        this.debounceNanos = debounce.toNanos();
+    }
+
+    public void setMaxBatch(int maxBatch) {
+        this.maxBatch = Math.max(1, maxBatch);
+    }
+
+    public void setMaxPending(int maxPending) {
+        this.maxPending = Math.max(1, maxPending);
+    }
+
+    public void setMaxRemembered(int maxRemembered) {
+        this.maxRemembered = Math.max(1, maxRemembered);
+    }
+
+    /**
+     * Treats these files as already processed in their current state, e.g.
+     * because their results are already shown. They are handed out again
+     * once they change. Must be called before {@link #start(boolean)}.
+     */
+    public synchronized void skipUnchanged(Collection<File> files) {
+        if (thread != null)
+            throw new IllegalStateException("Already started");
+        for (File file : files) {
+            Path path = file.toPath().toAbsolutePath().normalize();
+            if (!directory.equals(path.getParent()))
+                continue; // Not in the watched folder
+            String stamp = stampOf(path);
+            if (stamp != null) {
+                dispatched.put(path, stamp);
+            }
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Starts watching. With {@code includeExisting}, resumes already in the
+     * folder are processed first, like newly added ones.
+     */
+    public synchronized void start(boolean includeExisting) {
+        if (thread != null)
+            throw new IllegalStateException("Already started");
+        rescanNeeded = includeExisting;
+        running = true;
+        thread = BatchAnalyzer.daemonThreads("folder-watch").newThread(this::run);
+        thread.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        watchService.close(); // Wakes the watcher thread
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                WatchKey key = watchService.poll(pollMillis(), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        onEvent(event);
+                    }
+                    key.reset();
+                }
+                if (inFlight.isDone()) {
+                    dispatchReady();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Closed
+        } catch (RuntimeException e) {
+            System.err.println("Folder watch stopped: " + e.getMessage());
+        }
+    }
+
+    // Sleep until the next thing to do, but never past new file events
+    private long pollMillis() {
+        if (!inFlight.isDone())
+            return BUSY_POLL_MILLIS;
+        if (rescanNeeded && pending.size() < maxPending)
+            return 0;
+        if (pending.isEmpty())
+            return IDLE_POLL_MILLIS;
+        long oldest = pending.values().iterator().next();
+        long dueIn = oldest + debounceNanos - System.nanoTime();
+        return Math.max(0, Math.min(IDLE_POLL_MILLIS, TimeUnit.NANOSECONDS.toMillis(dueIn)));
+    }
+
+    private void onEvent(WatchEvent<?> event) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            rescanNeeded = true; // The OS dropped events; find out what changed by listing
+            return;
+        }
+        Path file = directory.resolve((Path) event.context());
+        if (!isResume(file))
+            return;
+        if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+            pending.remove(file);
+            dispatched.remove(file); // Analyze it again if it comes back
+            return;
+        }
+        pending.remove(file); // Re-insert so the map stays ordered by last event
+        if (pending.size() < maxPending) {
+            pending.put(file, System.nanoTime());
+        } else {
+            rescanNeeded = true;
+        }
+    }
+
+    private void dispatchReady() {
+        if (rescanNeeded && pending.size() < maxPending) {
+            rescan();
+        }
+
+        List<File> batch = new ArrayList<>();
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path, Long>> it = pending.entrySet().iterator();
+        while (it.hasNext() && batch.size() < maxBatch) {
+            Map.Entry<Path, Long> entry = it.next();
+            if (now - entry.getValue() < debounceNanos)
+                break; // Entries are ordered by last event, so the rest are newer
+            it.remove();
+            Path file = entry.getKey();
+            String stamp = stampOf(file);
+            if (stamp != null && !stamp.equals(dispatched.get(file))) {
+                dispatched.put(file, stamp);
+                batch.add(file.toFile());
+            }
+        }
+        if (!batch.isEmpty()) {
+            try {
+                inFlight = handler.onFiles(batch);
+            } catch (RuntimeException e) {
+                System.err.println("Could not process " + batch.size() + " watched files: " + e.getMessage());
+            }
+        }
+    }
+
+    // Queues files whose size or modification time differs from what was last processed
+    private void rescan() {
+        rescanNeeded = false;
+        long queuedAt = System.nanoTime() - debounceNanos; // Already quiet: no events were seen for them
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (!isResume(file) || pending.containsKey(file))
+                    continue;
+                String stamp = stampOf(file);
+                if (stamp == null || stamp.equals(dispatched.get(file)))
+                    continue;
+                if (pending.size() >= maxPending) {
+                    rescanNeeded = true; // List again once the queue has drained
+                    return;
+                }
+                pending.put(file, queuedAt);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not list " + directory + ": " + e.getMessage());
+            rescanNeeded = true;
+        }
+    }
+
+    private static boolean isResume(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return name.endsWith(".pdf") || name.endsWith(".txt");
+    }
+
+    private static String stampOf(Path file) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            return attrs.isRegularFile() ? attrs.lastModifiedTime().toMillis() + "/" + attrs.size() : null;
+        } catch (IOException e) {
+            return null; // Deleted before we got to it
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.resumescreening.service;
+
+import com.resumescreening.model.JobDescription;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable, precompiled view of a {@link JobDescription}.
+ * Everything the engine needs from the JD (required skills, tokens, the text
+ * sent to the remote model) is computed once here so that scoring a
+ * candidate only costs work proportional to the resume.
+ * Instances are created through {@link ScoringEngine#compileProfile}.
+ */
+public final class JobProfile {
+
+    // Max characters of the JD sent to the remote model (API limits)
+    static final int MAX_REMOTE_CHARS = 1000;
+
+    private final String title;
+    private final String rawText;
+    private final String remoteText;
+    private final byte[] remoteTextDigest;
+    private final List<String> tokens;
+    private final SkillTaxonomy taxonomy;
+    private final BitSet requiredSkills;
+
+    JobProfile(JobDescription jd, SkillTaxonomy taxonomy) {
+        this.title = jd.getTitle();
+        this.rawText = jd.getRawText();
+        String lowerText = rawText.toLowerCase();
+        this.remoteText = truncateForRemote(rawText);
+        this.remoteTextDigest = SimilarityCache.digest(remoteText);
+        this.tokens = Collections.unmodifiableList(TextTokens.tokenize(lowerText));
+        this.taxonomy = taxonomy;
+        this.requiredSkills = taxonomy.scan(lowerText).getTechnical();
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getRawText() {
+        return rawText;
+    }
+
+    /**
+     * The (truncated) JD text that is sent to the remote similarity model.
+     */
+    public String getRemoteText() {
+        return remoteText;
+    }
+
+    // Content hash of the remote text, used for similarity cache keys
+    byte[] remoteTextDigest() {
+        return remoteTextDigest;
+    }
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    public SkillTaxonomy getTaxonomy() {
+        return taxonomy;
+    }
+
+    /**
+     * Technical skills mentioned in the JD, as indices into
+     * {@link SkillTaxonomy#getTechnicalSkills()}. Shared with the engine's hot
+     * path, so it must not be modified.
+     */
+    BitSet requiredSkillBits() {
+        return requiredSkills;
+    }
+
+    static String truncateForRemote(String text) {
+        return text.substring(0, Math.min(text.length(), MAX_REMOTE_CHARS));
+    }
+}
@@ -0,0 +1,40 @@
+package com.resumescreening.service;
+
+import com.resumescreening.model.Candidate;
+
+import java.util.BitSet;
+
+/**
+ * Scores a candidate by the share of the JD's required technical skills
+ * found in the resume.
+ */
+public class KeywordScoringStrategy implements ScoringStrategy {
+
+    @Override
+    public String getId() {
+        return "keyword";
+    }
+
+    @Override
+    public double score(Candidate candidate, JobProfile profile) {
+        BitSet required = profile.requiredSkillBits();
+        if (required.isEmpty())
+            return 50.0; // Neutral score if no specific keywords found
+
+        return score(profile.getTaxonomy().scan(candidate.getRawText()).getTechnical(), required);
+    }
+
+    /**
+     * Scores already-extracted skill ids against the required ones, so a JD
+     * edit can be re-scored without rescanning the resume.
+     */
+    static double score(BitSet candidateSkills, BitSet required) {
+        int totalRequired = required.cardinality();
+        if (totalRequired == 0)
+            return 50.0; // Neutral score if no specific keywords found
+
+        BitSet matched = (BitSet) candidateSkills.clone();
+        matched.and(required);
+        return (double) matched.cardinality() / totalRequired * 100;
+    }
+}
@@ -1,31 +1,92 @@
 package com.resumescreening.service;
 
 import com.resumescreening.model.Candidate;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Service to export candidate analysis results to PDF.
+ * Page content is buffered in a scratch file once it exceeds a small
+ * in-memory budget, so very long reports do not grow the heap.
  */
 public class PDFExportService {
 
-    public void exportResults(List<Candidate> candidates, File file) throws IOException {
-        try (PDDocument document = new PDDocument()) {
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
+    public static final long DEFAULT_MAX_MAIN_MEMORY_BYTES = 4L * 1024 * 1024;
+
+    private static final float TOP = 750;
+    private static final float BOTTOM = 50;
+    private static final int ROW_HEIGHT = 20;
+    private static final int LINE_HEIGHT = 14;
+    private static final int DETAIL_LINE_CHARS = 90;
+
+    private static final PipelineMetrics METRICS = PipelineMetrics.global();
+
+    static {
+        // The standard fonts are shared by every document and cache encoded
+        // glyphs in plain HashMaps. Encode every character cleanText() lets
+        // through once, up front, so parallel workers only ever read them.
+        StringBuilder printable = new StringBuilder();
+        for (char ch = 0x20; ch < 0x7F; ch++) {
+            printable.append(ch);
+        }
+        try {
+            PDType1Font.HELVETICA.encode(printable.toString());
+            PDType1Font.HELVETICA_BOLD.encode(printable.toString());
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // 0 means "no limit": keep the whole document in memory
+    private volatile long maxMainMemoryBytes = DEFAULT_MAX_MAIN_MEMORY_BYTES;
+
+    /**
+     * Caps how much page content is kept in memory before PDFBox spills to a
+     * temporary scratch file.
+     */
+    public void setMaxMainMemoryBytes(long maxMainMemoryBytes) {
+        this.maxMainMemoryBytes = maxMainMemoryBytes;
+    }
+
+    public long getMaxMainMemoryBytes() {
+        return maxMainMemoryBytes;
+    }
 
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+    public void exportResults(List<Candidate> candidates, File file) throws IOException {
+        long start = System.nanoTime();
+        MemoryUsageSetting memory = maxMainMemoryBytes > 0
+                ? MemoryUsageSetting.setupMixed(maxMainMemoryBytes)
+                : MemoryUsageSetting.setupMainMemoryOnly();
+        try (PDDocument document = new PDDocument(memory)) {
+            PDPageContentStream contentStream = newPage(document);
+            PipelineEvents.ExportPage pageEvent = beginPage("", 1);
+            int rows = 0;
+            try {
                 // Title
                 contentStream.beginText();
                 contentStream.setFont(PDType1Font.HELVETICA_BOLD, 18);
-                contentStream.newLineAtOffset(50, 750);
+                contentStream.newLineAtOffset(50, TOP);
                 contentStream.showText("Smart Hire - Candidate Analysis Report");
                 contentStream.endText();
 
@@ -36,45 +97,16 @@ public class PDFExportService {
                 contentStream.showText("Generated on: " + java.time.LocalDateTime.now());
                 contentStream.endText();
 
-                int yPosition = 700;
-                int rowHeight = 20;
-
-                // Headers
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.newLineAtOffset(50, yPosition);
-                contentStream.showText("Name");
-                contentStream.newLineAtOffset(150, 0);
-                contentStream.showText("Match Score");
-                contentStream.newLineAtOffset(100, 0);
-                contentStream.showText("Role");
-                contentStream.endText();
-
-                // Underline line
-                contentStream.moveTo(50, yPosition - 5);
-                contentStream.lineTo(550, yPosition - 5);
-                contentStream.stroke();
-
-                yPosition -= 25;
-
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
+                float yPosition = writeHeaders(contentStream, 700);
 
                 for (Candidate c : candidates) {
-                    if (yPosition < 50) { // New page if needed
+                    if (yPosition < BOTTOM) { // New page, continuing the table
                         contentStream.close();
-                        PDPage newPage = new PDPage(PDRectangle.A4);
-                        document.addPage(newPage);
-                        // Re-initialize content stream for new page (simplified for this demo, usually
-                        // requires recursion or loop refactor)
-                        // For simplicity in this demo, we'll just stop or continue carelessly (risk of
-                        // no stream),
-                        // BUT let's strictly limit to 1 page for safety in this iteration or handle it
-                        // properly.
-                        // Ideally we break here or complicated logic. Let's just break if detailed
-                        // report is too long.
-                        // Actually, let's keep it simple: Single page limit for demo or robust it
-                        // slightly.
-                        break;
+                        commitPage(pageEvent, rows);
+                        contentStream = newPage(document);
+                        pageEvent = beginPage("", document.getNumberOfPages());
+                        rows = 0;
+                        yPosition = writeHeaders(contentStream, TOP);
                     }
 
                     contentStream.beginText();
@@ -86,19 +118,216 @@ public class PDFExportService {
                     contentStream.showText(cleanText(c.getRecommendedRole()));
                     contentStream.endText();
 
-                    yPosition -= rowHeight;
+                    yPosition -= ROW_HEIGHT;
+                    rows++;
                 }
+            } finally {
+                contentStream.close();
             }
+            commitPage(pageEvent, rows);
 
             document.save(file);
+            METRICS.add(PipelineMetrics.Counter.PAGES_EXPORTED, document.getNumberOfPages());
         }
+        METRICS.add(PipelineMetrics.Counter.BYTES_EXPORTED, file.length());
+        METRICS.record(PipelineMetrics.Stage.PDF_EXPORT, start);
+    }
+
+    /**
+     * Writes one detail PDF per candidate into a ZIP file, using one worker
+     * per core.
+     */
+    public void exportDetailsZip(List<Candidate> candidates, File file) throws IOException {
+        exportDetailsZip(candidates, file, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Writes one detail PDF per candidate into a ZIP file. Reports are
+     * rendered in parallel, each worker building its own document in memory,
+     * and are written to the archive in candidate order by the calling thread.
+     * At most two reports per worker wait to be written at any time.
+     */
+    public void exportDetailsZip(List<Candidate> candidates, File file, int workers) throws IOException {
+        int threads = Math.max(1, workers);
+        ExecutorService pool = Executors.newFixedThreadPool(threads, BatchAnalyzer.daemonThreads("report-worker"));
+        Queue<Future<byte[]>> pending = new ArrayDeque<>();
+        try (OutputStream raw = Files.newOutputStream(file.toPath());
+                ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(raw))) {
+            int next = 0;
+            int written = 0;
+            while (written < candidates.size()) {
+                // Keep the workers busy without rendering far ahead of the writer
+                while (next < candidates.size() && pending.size() < threads * 2) {
+                    Candidate c = candidates.get(next++);
+                    pending.add(pool.submit(() -> renderDetails(c)));
+                }
+                byte[] pdf = await(pending.remove());
+                zip.putNextEntry(new ZipEntry(entryName(candidates.get(written), written + 1)));
+                zip.write(pdf);
+                zip.closeEntry();
+                written++;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private byte[] renderDetails(Candidate c) throws IOException {
+        long start = System.nanoTime();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        try (PDDocument document = new PDDocument(MemoryUsageSetting.setupMainMemoryOnly())) {
+            PDPageContentStream contentStream = newPage(document);
+            PipelineEvents.ExportPage pageEvent = beginPage(c.getName(), 1);
+            int lines = 0;
+            try {
+                contentStream.beginText();
+                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 18);
+                contentStream.newLineAtOffset(50, TOP);
+                contentStream.showText(cleanText(c.getName()));
+                contentStream.endText();
+
+                contentStream.beginText();
+                contentStream.setFont(PDType1Font.HELVETICA, 10);
+                contentStream.newLineAtOffset(50, 735);
+                contentStream.showText(cleanText(c.getEmail()) + "  |  " + cleanText(c.getPhone()) + "  |  "
+                        + String.format("%.1f%%", c.getCurrentScore()) + "  |  " + cleanText(c.getRecommendedRole()));
+                contentStream.endText();
+
+                contentStream.setFont(PDType1Font.HELVETICA, 11);
+                float yPosition = 705;
+                for (String line : wrap(c.getAnalysisDetails() == null ? "" : c.getAnalysisDetails())) {
+                    if (yPosition < BOTTOM) {
+                        contentStream.close();
+                        commitPage(pageEvent, lines);
+                        contentStream = newPage(document);
+                        pageEvent = beginPage(c.getName(), document.getNumberOfPages());
+                        lines = 0;
+                        contentStream.setFont(PDType1Font.HELVETICA, 11);
+                        yPosition = TOP;
+                    }
+                    contentStream.beginText();
+                    contentStream.newLineAtOffset(50, yPosition);
+                    contentStream.showText(line);
+                    contentStream.endText();
+                    yPosition -= LINE_HEIGHT;
+                    lines++;
+                }
+            } finally {
+                contentStream.close();
+            }
+            commitPage(pageEvent, lines);
+            document.save(out);
+            METRICS.add(PipelineMetrics.Counter.PAGES_EXPORTED, document.getNumberOfPages());
+        }
+        METRICS.add(PipelineMetrics.Counter.BYTES_EXPORTED, out.size());
+        METRICS.record(PipelineMetrics.Stage.REPORT_RENDER, start);
+        return out.toByteArray();
+    }
+
+    /**
+     * Splits report text into cleaned lines of at most
+     * {@link #DETAIL_LINE_CHARS} characters, breaking at spaces where possible.
+     */
+    private List<String> wrap(String text) {
+        List<String> lines = new ArrayList<>();
+        for (String paragraph : text.split("\n")) {
+            String rest = cleanText(paragraph).trim();
+            if (rest.isEmpty()) {
+                lines.add(""); // Keep blank lines between report sections
+            }
+            while (!rest.isEmpty()) {
+                int cut = rest.length();
+                if (cut > DETAIL_LINE_CHARS) {
+                    cut = rest.lastIndexOf(' ', DETAIL_LINE_CHARS);
+                    if (cut <= 0) {
+                        cut = DETAIL_LINE_CHARS;
+                    }
+                }
+                lines.add(rest.substring(0, cut));
+                rest = rest.substring(cut).trim();
+            }
+        }
+        return lines;
+    }
+
+    // The rank prefix keeps names unique and the archive listing in ranking order
+    private String entryName(Candidate c, int rank) {
+        String base = cleanText(c.getName()).replaceAll("[^A-Za-z0-9._-]+", "_");
+        return String.format("%04d_%s.pdf", rank, base.isEmpty() ? "candidate" : base);
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            throw new IOException("Could not render report: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static PDPageContentStream newPage(PDDocument document) throws IOException {
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        return new PDPageContentStream(document, page);
+    }
+
+    private static PipelineEvents.ExportPage beginPage(String candidate, int page) {
+        PipelineEvents.ExportPage event = new PipelineEvents.ExportPage();
+        event.candidate = candidate;
+        event.page = page;
+        event.begin();
+        return event;
+    }
+
+    private static void commitPage(PipelineEvents.ExportPage event, int rows) {
+        event.rows = rows;
+        event.commit(); // No-op unless a recording enables the event
+    }
+
+    /**
+     * Writes the column headers at {@code yPosition} and returns the position
+     * of the first row below them. Leaves the row font selected.
+     */
+    private static float writeHeaders(PDPageContentStream contentStream, float yPosition) throws IOException {
+        contentStream.beginText();
+        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
+        contentStream.newLineAtOffset(50, yPosition);
+        contentStream.showText("Name");
+        contentStream.newLineAtOffset(150, 0);
+        contentStream.showText("Match Score");
+        contentStream.newLineAtOffset(100, 0);
+        contentStream.showText("Role");
+        contentStream.endText();
+
+        // Underline line
+        contentStream.moveTo(50, yPosition - 5);
+        contentStream.lineTo(550, yPosition - 5);
+        contentStream.stroke();
+
+        contentStream.setFont(PDType1Font.HELVETICA, 12);
+        return yPosition - 25;
     }
 
     private String cleanText(String text) {
         if (text == null)
             return "-";
-        // PDFBox 2.0 default fonts don't support all unicode. Replace basic non-ascii
-        // if needed or keep simple.
-        return text.replaceAll("[^\\x00-\\x7F]", "");
+        // PDFBox 2.0 default fonts don't support all unicode (or control
+        // characters), so keep printable ASCII only.
+        StringBuilder clean = null;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            boolean printable = ch >= 0x20 && ch < 0x7F;
+            if (!printable && clean == null) {
+                clean = new StringBuilder(text.length()).append(text, 0, i);
+            } else if (printable && clean != null) {
+                clean.append(ch);
+            }
+        }
+        return clean == null ? text : clean.toString();
     }
 }
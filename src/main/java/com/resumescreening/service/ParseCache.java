@@ -0,0 +1,320 @@
+package com.resumescreening.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of extracted resume fields keyed by file identity (absolute path,
+ * size and last-modified time), so re-analyzing the same files against a new
+ * JD skips PDF text extraction entirely. The key also holds the current year,
+ * since experience counted from "2019 to present" ranges depends on it.
+ *
+ * The memory tier is an LRU bounded by the total number of cached text
+ * characters. The optional disk tier stores one compressed entry per file in
+ * a directory and survives restarts; a changed file gets a new key, so stale
+ * entries are simply never read again. The disk tier is bounded too: once
+ * it grows past {@code maxDiskBytes}, the least recently used entries are
+ * deleted until it is back to three quarters of that.
+ */
+public class ParseCache {
+
+    private static final int FORMAT_VERSION = 1;
+    public static final long DEFAULT_MAX_DISK_BYTES = 256L << 20;
+    private static final long STALE_TEMP_MILLIS = TimeUnit.HOURS.toMillis(1); // Left behind by a crash
+
+    private final BoundedLruCache<String, ParsedResume> memory;
+    private final Path directory;
+    private final long maxDiskBytes;
+    private final AtomicLong diskBytes = new AtomicLong(-1); // -1 until the directory has been measured
+    private final Object evictionLock = new Object();
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Memory-only cache holding at most {@code maxChars} characters of text.
+     */
+    public ParseCache(long maxChars) {
+        this(maxChars, null);
+    }
+
+    /**
+     * Cache with a persistent tier in {@code directory} (created if needed)
+     * of at most {@link #DEFAULT_MAX_DISK_BYTES}.
+     */
+    public ParseCache(long maxChars, Path directory) {
+        this(maxChars, directory, DEFAULT_MAX_DISK_BYTES);
+    }
+
+    /**
+     * Cache with a persistent tier in {@code directory} (created if needed)
+     * that keeps at most {@code maxDiskBytes} of compressed entries.
+     */
+    public ParseCache(long maxChars, Path directory, long maxDiskBytes) {
+        if (maxDiskBytes < 1)
+            throw new IllegalArgumentException("Disk size must be positive: " + maxDiskBytes);
+        this.memory = new BoundedLruCache<>(maxChars, parsed -> Math.max(1, parsed.getText().length()));
+        this.directory = directory;
+        this.maxDiskBytes = maxDiskBytes;
+    }
+
+    /**
+     * Builds the identity key of a file. {@code variant} distinguishes
+     * results produced with different extraction settings.
+     */
+    static String key(Path file, long size, long lastModified, String variant) {
+        return key(file, size, lastModified, variant, Year.now().getValue());
+    }
+
+    static String key(Path file, long size, long lastModified, String variant, int currentYear) {
+        return file.toAbsolutePath().normalize() + "|" + size + "|" + lastModified + "|" + variant + "|"
+                + currentYear;
+    }
+
+    ParsedResume get(String key) {
+        ParsedResume parsed = memory.get(key);
+        if (parsed != null) {
+            memoryHits.increment();
+            return parsed;
+        }
+        parsed = readDisk(key);
+        if (parsed != null) {
+            diskHits.increment();
+            memory.put(key, parsed);
+            return parsed;
+        }
+        misses.increment();
+        return null;
+    }
+
+    void put(String key, ParsedResume parsed) {
+        memory.put(key, parsed);
+        writeDisk(key, parsed);
+    }
+
+    public void clear() {
+        memory.clear();
+    }
+
+    public long getHits() {
+        return memoryHits.sum() + diskHits.sum();
+    }
+
+    public long getDiskHits() {
+        return diskHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ParseCache[entries=%d, chars=%d, memoryHits=%d, diskHits=%d, misses=%d]",
+                memory.size(), memory.weight(), memoryHits.sum(), diskHits.sum(), misses.sum());
+    }
+
+    private ParsedResume readDisk(String key) {
+        if (directory == null)
+            return null;
+        Path entry = directory.resolve(fileName(key));
+        try (InputStream raw = Files.newInputStream(entry);
+                DataInputStream in = new DataInputStream(new GZIPInputStream(raw))) {
+            if (in.readInt() != FORMAT_VERSION || !in.readUTF().equals(key))
+                return null; // Old format or (very unlikely) hash collision
+            String email = in.readUTF();
+            String phone = in.readUTF();
+            int experience = in.readInt();
+            byte[] text = in.readNBytes(in.readInt());
+            touch(entry);
+            return new ParsedResume(new String(text, StandardCharsets.UTF_8), email, phone, experience);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.err.println("Parse cache read failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, ParsedResume parsed) {
+        if (directory == null)
+            return;
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            Path entry = directory.resolve(fileName(key));
+            // Write to a temp file first so readers never see a partial entry
+            temp = Files.createTempFile(directory, "entry", ".tmp");
+            try (OutputStream raw = Files.newOutputStream(temp);
+                    DataOutputStream out = new DataOutputStream(new GZIPOutputStream(raw))) {
+                byte[] text = parsed.getText().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(key);
+                out.writeUTF(parsed.getEmail());
+                out.writeUTF(parsed.getPhone());
+                out.writeInt(parsed.getExperienceYears());
+                out.writeInt(text.length);
+                out.write(text);
+            }
+            long replaced = Files.exists(entry) ? Files.size(entry) : 0;
+            try {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+            long added = Files.size(entry) - replaced;
+            if (measuredDiskBytes() + added > maxDiskBytes) {
+                evictDisk();
+            } else {
+                diskBytes.addAndGet(added);
+            }
+        } catch (IOException e) {
+            // e.g. UTFDataFormatException for a field over 64 KB
+            System.err.println("Parse cache write failed: " + e.getMessage());
+        } finally {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    // Reads count as use, so eviction by modification time is least-recently-used
+    private static void touch(Path entry) {
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Only affects eviction order
+        }
+    }
+
+    /** Size of the disk tier as tracked between evictions. */
+    long diskBytes() {
+        return directory == null ? 0 : measuredDiskBytes();
+    }
+
+    private long measuredDiskBytes() {
+        long bytes = diskBytes.get();
+        if (bytes >= 0)
+            return bytes;
+        synchronized (evictionLock) {
+            if (diskBytes.get() < 0) {
+                long total = 0;
+                for (DiskEntry e : listDisk()) {
+                    total += e.size;
+                }
+                diskBytes.set(total);
+            }
+            return diskBytes.get();
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries until the disk tier is at
+     * three quarters of its limit, so eviction does not run on every write.
+     * Also removes temp files left behind by a crash.
+     */
+    private void evictDisk() {
+        synchronized (evictionLock) {
+            List<DiskEntry> entries = listDisk();
+            long total = 0;
+            for (DiskEntry e : entries) {
+                total += e.size;
+            }
+            if (total > maxDiskBytes) {
+                entries.sort(Comparator.comparingLong(e -> e.lastUsed));
+                long target = maxDiskBytes / 4 * 3;
+                for (DiskEntry e : entries) {
+                    if (total <= target)
+                        break;
+                    if (deleteQuietly(e.path)) {
+                        total -= e.size;
+                    }
+                }
+            }
+            diskBytes.set(total);
+        }
+    }
+
+    private static final class DiskEntry {
+        final Path path;
+        final long size;
+        final long lastUsed;
+
+        DiskEntry(Path path, long size, long lastUsed) {
+            this.path = path;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    private List<DiskEntry> listDisk() {
+        List<DiskEntry> entries = new ArrayList<>();
+        long staleBefore = System.currentTimeMillis() - STALE_TEMP_MILLIS;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                    long modified = attrs.lastModifiedTime().toMillis();
+                    if (name.endsWith(".gz")) {
+                        entries.add(new DiskEntry(file, attrs.size(), modified));
+                    } else if (name.endsWith(".tmp") && modified < staleBefore) {
+                        deleteQuietly(file);
+                    }
+                } catch (IOException e) {
+                    // Deleted meanwhile
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not list parse cache: " + e.getMessage());
+        }
+        return entries;
+    }
+
+    private static boolean deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String fileName(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2 + 3);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.append(".gz").toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.resumescreening.service;
+
+/**
+ * Everything {@link ResumeParser} extracts from a file, independent of any
+ * job description. Immutable so it can be cached and shared.
+ */
+public final class ParsedResume {
+    private final String text;
+    private final String email;
+    private final String phone;
+    private final int experienceYears;
+
+    public ParsedResume(String text, String email, String phone, int experienceYears) {
+        this.text = text;
+        this.email = email;
+        this.phone = phone;
+        this.experienceYears = experienceYears;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public int getExperienceYears() {
+        return experienceYears;
+    }
+}
@@ -0,0 +1,107 @@
+package com.resumescreening.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder events for the screening pipeline. Unlike
+ * {@link PipelineMetrics}, which aggregates, each event names the resume or
+ * request it timed, so a recording taken with {@code jcmd <pid> JFR.start}
+ * can line slow candidates up with GC pauses and thread stalls.
+ * When no recording is running the events are never committed, so they
+ * cost an allocation and two clock reads at most.
+ */
+final class PipelineEvents {
+
+    private static final String CATEGORY = "Smart Hire";
+
+    private PipelineEvents() {
+    }
+
+    @Name("com.resumescreening.ResumeParse")
+    @Label("Resume Parse")
+    @Description("Text and field extraction of one resume file")
+    @Category({ CATEGORY, "Parsing" })
+    static final class ResumeParse extends Event {
+        @Label("Candidate")
+        String candidate;
+
+        @Label("File Size")
+        @DataAmount
+        long fileSize;
+
+        @Label("Pages")
+        int pages;
+
+        @Label("Characters")
+        int characters;
+
+        @Label("Cache Hit")
+        boolean cacheHit;
+    }
+
+    @Name("com.resumescreening.RemoteScore")
+    @Label("Remote Score Call")
+    @Description("One HTTP request to the sentence-similarity model, including retries as separate events")
+    @Category({ CATEGORY, "Scoring" })
+    static final class RemoteScore extends Event {
+        @Label("Candidates")
+        @Description("Ids of the resumes sent in this request")
+        String candidates;
+
+        @Label("Sentences")
+        int sentences;
+
+        @Label("Attempt")
+        int attempt;
+
+        @Label("Status Code")
+        @Description("HTTP status, or -1 if no response was received")
+        int statusCode;
+
+        @Label("Request Size")
+        @DataAmount
+        long requestSize;
+
+        @Label("Response Size")
+        @DataAmount
+        long responseSize;
+    }
+
+    @Name("com.resumescreening.SkillAnalysis")
+    @Label("Skill Analysis")
+    @Description("Skill, role and education analysis of one candidate")
+    @Category({ CATEGORY, "Scoring" })
+    static final class SkillAnalysis extends Event {
+        @Label("Candidate")
+        String candidate;
+
+        @Label("Text Size")
+        @DataAmount
+        long textSize;
+
+        @Label("Matched Skills")
+        int matchedSkills;
+    }
+
+    @Name("com.resumescreening.ExportPage")
+    @Label("Export Page")
+    @Description("Rendering of one page of an exported PDF")
+    @Category({ CATEGORY, "Export" })
+    static final class ExportPage extends Event {
+        @Label("Candidate")
+        @Description("Candidate of a detail report; empty for the summary table")
+        String candidate;
+
+        @Label("Page")
+        int page;
+
+        @Label("Rows")
+        @Description("Table rows or report lines on the page")
+        int rows;
+    }
+}
@@ -0,0 +1,246 @@
+package com.resumescreening.service;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide timings and counters for each pipeline stage, so a slow batch
+ * can be traced to PDF extraction, field extraction, the remote model, skill
+ * analysis or export without attaching a profiler.
+ * Recording is a few uncontended atomic adds; read the numbers through JMX
+ * ({@link #registerMBean()}) or a periodic text dump
+ * ({@link #startPeriodicDump(Duration, PrintStream)}).
+ */
+public final class PipelineMetrics implements PipelineMetricsMXBean {
+
+    public static final String OBJECT_NAME = "com.resumescreening:type=PipelineMetrics";
+
+    public enum Stage {
+        PDF_EXTRACTION("pdf-extraction"),
+        TEXT_READ("text-read"),
+        FIELD_EXTRACTION("field-extraction"),
+        REMOTE_SIMILARITY("remote-similarity"),
+        SKILL_ANALYSIS("skill-analysis"),
+        PDF_EXPORT("pdf-export"),
+        REPORT_RENDER("report-render");
+
+        private final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public enum Counter {
+        RESUMES_PARSED("resumes-parsed"),
+        PARSE_CACHE_HITS("parse-cache-hits"),
+        BYTES_READ("bytes-read"),
+        PAGES_READ("pages-read"),
+        REMOTE_REQUESTS("remote-requests"),
+        REMOTE_RETRIES("remote-retries"),
+        REMOTE_FAILURES("remote-failures"),
+        REMOTE_SENTENCES("remote-sentences"),
+        PAGES_EXPORTED("pages-exported"),
+        BYTES_EXPORTED("bytes-exported");
+
+        private final String label;
+
+        Counter(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * Latency summary of one stage, in microseconds.
+     */
+    public static final class StageStats {
+        private final String stage;
+        private final long count;
+        private final long p50Micros;
+        private final long p99Micros;
+        private final long maxMicros;
+        private final long totalMillis;
+
+        StageStats(String stage, long count, long p50Micros, long p99Micros, long maxMicros, long totalMillis) {
+            this.stage = stage;
+            this.count = count;
+            this.p50Micros = p50Micros;
+            this.p99Micros = p99Micros;
+            this.maxMicros = maxMicros;
+            this.totalMillis = totalMillis;
+        }
+
+        public String getStage() {
+            return stage;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getP50Micros() {
+            return p50Micros;
+        }
+
+        public long getP99Micros() {
+            return p99Micros;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+    }
+
+    private static final PipelineMetrics GLOBAL = new PipelineMetrics();
+
+    private final Map<Stage, LatencyHistogram> stages = new EnumMap<>(Stage.class);
+    private final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+    private ScheduledExecutorService dumper;
+    private ScheduledFuture<?> dumpTask;
+
+    PipelineMetrics() {
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, new LatencyHistogram());
+        }
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, new LongAdder());
+        }
+    }
+
+    /**
+     * The instance every service records into.
+     */
+    public static PipelineMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Registers the global instance with the platform MBean server. Safe to
+     * call more than once.
+     */
+    public static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(GLOBAL, name);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not register metrics MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records the time since {@code startNanos} (a {@link System#nanoTime()}
+     * reading) against the stage.
+     */
+    public void record(Stage stage, long startNanos) {
+        stages.get(stage).record(System.nanoTime() - startNanos);
+    }
+
+    public void add(Counter counter, long amount) {
+        counters.get(counter).add(amount);
+    }
+
+    public void increment(Counter counter) {
+        counters.get(counter).increment();
+    }
+
+    public long get(Counter counter) {
+        return counters.get(counter).sum();
+    }
+
+    public StageStats stats(Stage stage) {
+        LatencyHistogram histogram = stages.get(stage);
+        return new StageStats(stage.getLabel(), histogram.getCount(),
+                histogram.percentile(50) / 1000, histogram.percentile(99) / 1000,
+                histogram.getMaxNanos() / 1000, histogram.getTotalNanos() / 1_000_000);
+    }
+
+    @Override
+    public List<StageStats> getStages() {
+        List<StageStats> result = new ArrayList<>();
+        for (Stage stage : Stage.values()) {
+            result.add(stats(stage));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Counter counter : Counter.values()) {
+            result.put(counter.getLabel(), get(counter));
+        }
+        return result;
+    }
+
+    @Override
+    public String getSnapshot() {
+        StringBuilder text = new StringBuilder("Pipeline metrics at ").append(LocalDateTime.now()).append('\n');
+        for (StageStats s : getStages()) {
+            if (s.getCount() == 0)
+                continue;
+            text.append(String.format(Locale.ROOT, "  %-18s count=%d p50=%.1fms p99=%.1fms max=%.1fms total=%.1fs%n",
+                    s.getStage(), s.getCount(), s.getP50Micros() / 1000.0, s.getP99Micros() / 1000.0,
+                    s.getMaxMicros() / 1000.0, s.getTotalMillis() / 1000.0));
+        }
+        text.append(" ");
+        getCounters().forEach((label, value) -> text.append(' ').append(label).append('=').append(value));
+        return text.append('\n').toString();
+    }
+
+    @Override
+    public void reset() {
+        stages.values().forEach(LatencyHistogram::reset);
+        counters.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Writes {@link #getSnapshot()} to {@code out} every {@code interval}
+     * until {@link #stopPeriodicDump()}. Replaces any dump already running.
+     */
+    public synchronized void startPeriodicDump(Duration interval, PrintStream out) {
+        stopPeriodicDump();
+        if (dumper == null) {
+            dumper = Executors.newSingleThreadScheduledExecutor(BatchAnalyzer.daemonThreads("metrics-dump"));
+        }
+        long millis = Math.max(1, interval.toMillis());
+        dumpTask = dumper.scheduleAtFixedRate(() -> out.print(getSnapshot()), millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopPeriodicDump() {
+        if (dumpTask != null) {
+            dumpTask.cancel(false);
+            dumpTask = null;
+        }
+    }
+}
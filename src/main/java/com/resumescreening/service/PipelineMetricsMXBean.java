@@ -0,0 +1,22 @@
+package com.resumescreening.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMX view of {@link PipelineMetrics}, registered as
+ * {@value PipelineMetrics#OBJECT_NAME}.
+ */
+public interface PipelineMetricsMXBean {
+
+    List<PipelineMetrics.StageStats> getStages();
+
+    Map<String, Long> getCounters();
+
+    /**
+     * The same text the periodic dump writes.
+     */
+    String getSnapshot();
+
+    void reset();
+}
@@ -0,0 +1,67 @@
+package com.resumescreening.service;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking cap on the number of concurrent remote requests.
+ * Callers wait on a future instead of a thread, so thousands of queued
+ * candidates cost no threads while only {@code limit} requests are on the wire.
+ */
+final class RequestLimiter {
+
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int limit;
+    private int inFlight;
+
+    RequestLimiter(int limit) {
+        setLimit(limit);
+    }
+
+    void setLimit(int limit) {
+        if (limit < 1)
+            throw new IllegalArgumentException("Request limit must be at least 1: " + limit);
+        ArrayDeque<CompletableFuture<Void>> granted = new ArrayDeque<>();
+        synchronized (this) {
+            this.limit = limit;
+            while (inFlight < this.limit && !waiters.isEmpty()) {
+                inFlight++;
+                granted.add(waiters.poll());
+            }
+        }
+        granted.forEach(w -> w.complete(null));
+    }
+
+    synchronized int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns a future that completes once a request slot is available.
+     * Every completed acquire must be paired with one {@link #release()}.
+     */
+    CompletableFuture<Void> acquire() {
+        synchronized (this) {
+            if (inFlight < limit) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+    }
+
+    void release() {
+        CompletableFuture<Void> next;
+        synchronized (this) {
+            if (inFlight > limit || waiters.isEmpty()) {
+                inFlight--;
+                return;
+            }
+            // Hand the slot directly to the next waiter
+            next = waiters.poll();
+        }
+        next.complete(null);
+    }
+}
@@ -0,0 +1,263 @@
+package com.resumescreening.service;
+
+import com.resumescreening.model.Candidate;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes candidate results as CSV or JSON Lines for ATS imports and
+ * analytics jobs. Each row is encoded straight into a fixed-size buffer that
+ * is drained to the channel whenever it fills, so memory use does not depend
+ * on the number of rows.
+ * Thread-safe; rows may be written from any thread.
+ */
+public class ResultExporter implements Closeable, Flushable {
+
+    public enum Format {
+        CSV, JSONL;
+
+        public static Format of(String name) {
+            return valueOf(name.toUpperCase());
+        }
+    }
+
+    public static final String CSV_HEADER =
+            "name,email,phone,score,role,experience_years,education,matched_skills,missing_skills,scorer";
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final Format format;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final StringBuilder row = new StringBuilder(256);
+    private boolean autoFlush;
+    private long rowsWritten;
+
+    /**
+     * Writes to an already open channel, e.g. one wrapping standard output.
+     * The CSV header is written immediately.
+     */
+    public ResultExporter(WritableByteChannel channel, Format format) throws IOException {
+        this.channel = channel;
+        this.format = format;
+        if (format == Format.CSV) {
+            row.append(CSV_HEADER).append('\n');
+            encodeRow();
+        }
+    }
+
+    /**
+     * Creates (or truncates) {@code file} and writes to it.
+     */
+    public static ResultExporter open(Path file, Format format) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            return new ResultExporter(channel, format);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Convenience for exporting a finished result list to a file.
+     */
+    public static void export(List<Candidate> candidates, Path file, Format format) throws IOException {
+        try (ResultExporter exporter = open(file, format)) {
+            for (Candidate c : candidates) {
+                exporter.write(c);
+            }
+        }
+    }
+
+    /**
+     * When enabled, every row is pushed to the channel as soon as it is
+     * written, so a reader on a pipe sees rows as they are produced.
+     */
+    public synchronized void setAutoFlush(boolean autoFlush) {
+        this.autoFlush = autoFlush;
+    }
+
+    public synchronized void write(Candidate c) throws IOException {
+        if (format == Format.JSONL) {
+            appendJson(c);
+        } else {
+            appendCsv(c);
+        }
+        encodeRow();
+        rowsWritten++;
+        if (autoFlush) {
+            drain();
+        }
+    }
+
+    public synchronized long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void appendCsv(Candidate c) {
+        appendCsvField(c.getName()).append(',');
+        appendCsvField(c.getEmail()).append(',');
+        appendCsvField(c.getPhone()).append(',');
+        appendScore(c.getCurrentScore()).append(',');
+        appendCsvField(c.getRecommendedRole()).append(',');
+        row.append(c.getExperienceYears()).append(',');
+        appendCsvField(c.getEducationSummary()).append(',');
+        appendCsvField(String.join(";", c.getMatchedSkills())).append(',');
+        appendCsvField(String.join(";", c.getMissingSkills())).append(',');
+        appendCsvField(c.getScoredBy()).append('\n');
+    }
+
+    private StringBuilder appendCsvField(String value) {
+        if (value == null)
+            return row;
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0)
+            return row.append(value);
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '"') {
+                row.append('"');
+            }
+            row.append(ch);
+        }
+        return row.append('"');
+    }
+
+    private void appendJson(Candidate c) {
+        row.append("{\"name\":");
+        appendJsonString(c.getName());
+        row.append(",\"email\":");
+        appendJsonString(c.getEmail());
+        row.append(",\"phone\":");
+        appendJsonString(c.getPhone());
+        row.append(",\"score\":");
+        appendScore(c.getCurrentScore());
+        row.append(",\"role\":");
+        appendJsonString(c.getRecommendedRole());
+        row.append(",\"experience_years\":").append(c.getExperienceYears());
+        row.append(",\"education\":");
+        appendJsonString(c.getEducationSummary());
+        row.append(",\"matched_skills\":");
+        appendJsonArray(c.getMatchedSkills());
+        row.append(",\"missing_skills\":");
+        appendJsonArray(c.getMissingSkills());
+        row.append(",\"scorer\":");
+        appendJsonString(c.getScoredBy());
+        row.append("}\n");
+    }
+
+    private void appendJsonArray(List<String> values) {
+        row.append('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                row.append(',');
+            }
+            appendJsonString(values.get(i));
+        }
+        row.append(']');
+    }
+
+    private void appendJsonString(String value) {
+        if (value == null) {
+            row.append("null");
+            return;
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"':
+                    row.append("\\\"");
+                    break;
+                case '\\':
+                    row.append("\\\\");
+                    break;
+                case '\n':
+                    row.append("\\n");
+                    break;
+                case '\r':
+                    row.append("\\r");
+                    break;
+                case '\t':
+                    row.append("\\t");
+                    break;
+                default:
+                    if (ch < 0x20 || ch == '\u2028' || ch == '\u2029') {
+                        row.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        row.append(ch);
+                    }
+            }
+        }
+        row.append('"');
+    }
+
+    // Two decimals without going through String.format
+    private StringBuilder appendScore(double score) {
+        if (Double.isNaN(score) || Double.isInfinite(score))
+            return row.append(format == Format.JSONL ? "null" : "");
+        long hundredths = Math.round(score * 100);
+        if (hundredths < 0) {
+            row.append('-');
+            hundredths = -hundredths;
+        }
+        long cents = hundredths % 100;
+        return row.append(hundredths / 100).append('.').append(cents < 10 ? "0" : "").append(cents);
+    }
+
+    private void encodeRow() throws IOException {
+        CharBuffer chars = CharBuffer.wrap(row);
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, false);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        row.setLength(0);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,319 @@
+package com.resumescreening.service;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written, single-pass extractor for the contact and experience fields
+ * of a resume. Replaces three separate regex scans (email, phone, "N years")
+ * and adds date-range detection ("2015 - 2020", "2018 to present").
+ *
+ * Email and phone follow the same rules as the former patterns:
+ * {@code [a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,6}} and
+ * {@code (\+\d{1,3}[- ]?)?\d{10}} (first match wins).
+ *
+ * Experience is the larger of the highest explicit "N years"/"N yrs" mention
+ * and the total span of merged work date ranges. Ranges on lines that
+ * mention an education word (university, degree, ...) as a whole word are
+ * ignored.
+ */
+public final class ResumeFieldScanner {
+
+    public static final String NOT_FOUND = "Not Found";
+
+    private static final int MAX_YEARS = 50; // Capping to avoid outliers
+    private static final int MIN_YEAR = 1950;
+    private static final String[] YEAR_UNITS = { "years", "year", "yrs", "yr" }; // Longest first
+    private static final String[] PRESENT_WORDS = { "present", "current", "now", "date", "today" };
+    private static final String[] EDUCATION_WORDS = {
+            "university", "college", "school", "bachelor", "bachelors", "master", "masters", "degree", "bsc", "msc",
+            "phd", "diploma"
+    };
+
+    private ResumeFieldScanner() {
+    }
+
+    public static ParsedResume scan(String text) {
+        return scan(text, Year.now().getValue());
+    }
+
+    static ParsedResume scan(String text, int currentYear) {
+        String email = null;
+        String phone = null;
+        int mentionedYears = 0;
+        List<int[]> ranges = new ArrayList<>();
+
+        int n = text.length();
+        int localStart = -1; // Start of the current run of email local-part characters
+        int lineRanges = 0; // Index in ranges of the first range found on the current line
+        boolean educationLine = false;
+        int i = 0;
+        while (i < n) {
+            char c = text.charAt(i);
+
+            if (c == '\n') {
+                if (educationLine) {
+                    ranges.subList(lineRanges, ranges.size()).clear(); // Study periods are not experience
+                }
+                lineRanges = ranges.size();
+                educationLine = false;
+            } else if (!educationLine && isAsciiLetter(c) && (i == 0 || !isAsciiLetterOrDigit(text.charAt(i - 1)))) {
+                educationLine = isEducationWord(text, i);
+            }
+
+            if (isLocalChar(c)) {
+                if (localStart < 0) {
+                    localStart = i;
+                }
+            } else {
+                if (c == '@' && email == null && localStart >= 0) {
+                    int end = emailEnd(text, i);
+                    if (end > 0) {
+                        email = text.substring(localStart, end);
+                    }
+                }
+                localStart = -1;
+            }
+
+            if (phone == null && c == '+') {
+                phone = prefixedPhone(text, i);
+            }
+
+            if (isDigit(c) && (i == 0 || !isDigit(text.charAt(i - 1)))) {
+                // Start of a digit run: measure it once and handle every field that needs it
+                int runEnd = i;
+                while (runEnd < n && isDigit(text.charAt(runEnd))) {
+                    runEnd++;
+                }
+                int runLength = runEnd - i;
+
+                if (phone == null && runLength >= 10) {
+                    phone = text.substring(i, i + 10);
+                }
+                if (runLength <= 2) {
+                    int years = yearsMention(text, i, runEnd);
+                    if (years > mentionedYears && years < MAX_YEARS) {
+                        mentionedYears = years;
+                    }
+                } else if (runLength == 4) {
+                    int[] range = dateRange(text, i, runEnd, currentYear);
+                    if (range != null) {
+                        ranges.add(range);
+                    }
+                }
+
+                // The run contains no '@', newline or '+', so only the local-part tracker needs updating
+                if (localStart < 0) {
+                    localStart = i;
+                }
+                i = runEnd;
+                continue;
+            }
+            i++;
+        }
+        if (educationLine) {
+            ranges.subList(lineRanges, ranges.size()).clear();
+        }
+
+        int experience = Math.max(mentionedYears, Math.min(MAX_YEARS - 1, mergedSpan(ranges)));
+        return new ParsedResume(text,
+                email == null ? NOT_FOUND : email,
+                phone == null ? NOT_FOUND : phone,
+                experience);
+    }
+
+    // --- Email ---
+
+    private static boolean isLocalChar(char c) {
+        return isAsciiLetterOrDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isDomainChar(char c) {
+        return isAsciiLetterOrDigit(c) || c == '.' || c == '-';
+    }
+
+    /**
+     * Returns the end index of the email whose '@' is at {@code at}, or -1.
+     * Mirrors the greedy backtracking of the former pattern: the last '.'
+     * in the domain that is followed by 2+ letters ends it, with at most 6
+     * letters of top-level domain.
+     */
+    private static int emailEnd(String text, int at) {
+        int domainEnd = at + 1;
+        while (domainEnd < text.length() && isDomainChar(text.charAt(domainEnd))) {
+            domainEnd++;
+        }
+        for (int dot = domainEnd - 1; dot >= at + 2; dot--) {
+            if (text.charAt(dot) != '.')
+                continue;
+            int letters = 0;
+            while (letters < 6 && dot + 1 + letters < domainEnd && isAsciiLetter(text.charAt(dot + 1 + letters))) {
+                letters++;
+            }
+            if (letters >= 2)
+                return dot + 1 + letters;
+        }
+        return -1;
+    }
+
+    // --- Phone ---
+
+    /**
+     * Matches {@code \+\d{1,3}[- ]?\d{10}} at {@code plus}, or returns null.
+     */
+    private static String prefixedPhone(String text, int plus) {
+        int n = text.length();
+        int run = 0;
+        while (plus + 1 + run < n && isDigit(text.charAt(plus + 1 + run))) {
+            run++;
+        }
+        if (run >= 11) {
+            // No separator: as many country-code digits as still leave ten
+            int prefix = Math.min(3, run - 10);
+            return text.substring(plus, plus + 1 + prefix + 10);
+        }
+        if (run >= 1 && run <= 3 && plus + 1 + run < n) {
+            int sep = plus + 1 + run;
+            char s = text.charAt(sep);
+            if (s == '-' || s == ' ') {
+                int digits = 0;
+                while (digits < 10 && sep + 1 + digits < n && isDigit(text.charAt(sep + 1 + digits))) {
+                    digits++;
+                }
+                if (digits == 10)
+                    return text.substring(plus, sep + 11);
+            }
+        }
+        return null;
+    }
+
+    // --- Experience ---
+
+    /**
+     * Parses "N years", "N+ yrs", "Nyr" for the 1-2 digit run [start, end).
+     * Returns 0 if the run is not followed by a year unit.
+     */
+    private static int yearsMention(String text, int start, int end) {
+        int n = text.length();
+        int p = end;
+        if (p < n && text.charAt(p) == '+') {
+            p++;
+        }
+        while (p < n && Character.isWhitespace(text.charAt(p))) {
+            p++;
+        }
+        int unitEnd = -1;
+        for (String unit : YEAR_UNITS) {
+            if (regionIs(text, p, unit)) {
+                unitEnd = p + unit.length();
+                break;
+            }
+        }
+        if (unitEnd < 0)
+            return 0;
+        if (unitEnd < n && Character.isLetter(text.charAt(unitEnd)))
+            return 0; // e.g. "5 yearly"
+        return Integer.parseInt(text, start, end, 10);
+    }
+
+    /**
+     * Parses "YYYY - YYYY" / "YYYY to present" starting at the 4-digit run
+     * [start, end). Returns {startYear, endYear} or null.
+     */
+    private static int[] dateRange(String text, int start, int end, int currentYear) {
+        int from = Integer.parseInt(text, start, end, 10);
+        if (from < MIN_YEAR || from > currentYear)
+            return null;
+
+        int n = text.length();
+        int p = skipSpaces(text, end);
+        if (p >= n)
+            return null;
+        char sep = text.charAt(p);
+        if (sep == '-' || sep == '–' || sep == '—') {
+            p++;
+        } else if (regionIs(text, p, "to") && (p + 2 >= n || !Character.isLetter(text.charAt(p + 2)))) {
+            p += 2;
+        } else {
+            return null;
+        }
+        p = skipSpaces(text, p);
+
+        int to;
+        if (p + 4 <= n && isDigit(text.charAt(p)) && isDigit(text.charAt(p + 1))
+                && isDigit(text.charAt(p + 2)) && isDigit(text.charAt(p + 3))
+                && (p + 4 == n || !isDigit(text.charAt(p + 4)))) {
+            to = Integer.parseInt(text, p, p + 4, 10);
+        } else if (startsWithAny(text, p, PRESENT_WORDS)) {
+            to = currentYear;
+        } else {
+            return null;
+        }
+        if (to < from || to > currentYear + 1)
+            return null;
+        return new int[] { from, to };
+    }
+
+    // Whole words only: "Master's" counts, "mastered" and "MasterCard" do not
+    private static boolean isEducationWord(String text, int p) {
+        for (String word : EDUCATION_WORDS) {
+            int end = p + word.length();
+            if (regionIs(text, p, word) && (end == text.length() || !isAsciiLetter(text.charAt(end))))
+                return true;
+        }
+        return false;
+    }
+
+    private static int mergedSpan(List<int[]> ranges) {
+        if (ranges.isEmpty())
+            return 0;
+        ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+        int total = 0;
+        int curStart = ranges.get(0)[0];
+        int curEnd = ranges.get(0)[1];
+        for (int[] r : ranges) {
+            if (r[0] <= curEnd) {
+                curEnd = Math.max(curEnd, r[1]);
+            } else {
+                total += curEnd - curStart;
+                curStart = r[0];
+                curEnd = r[1];
+            }
+        }
+        return total + (curEnd - curStart);
+    }
+
+    // --- Character helpers ---
+
+    private static int skipSpaces(String text, int p) {
+        while (p < text.length() && (text.charAt(p) == ' ' || text.charAt(p) == '\t')) {
+            p++;
+        }
+        return p;
+    }
+
+    private static boolean startsWithAny(String text, int p, String[] words) {
+        for (String word : words) {
+            if (regionIs(text, p, word))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean regionIs(String text, int p, String lowerWord) {
+        return text.regionMatches(true, p, lowerWord, 0, lowerWord.length());
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || isDigit(c);
+    }
+}
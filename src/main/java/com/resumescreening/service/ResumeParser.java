@@ -1,82 +1,172 @@
 package com.resumescreening.service;
 
 import com.resumescreening.model.Candidate;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.file.attribute.BasicFileAttributes;
 
 /**
  * Service to parse resume files and extract candidate information.
  * Supports .txt and .pdf.
+ * Ingestion is bounded so that peak heap per parse stays predictable: PDFs are
+ * buffered in memory only up to a limit (then in a temp file), and text
+ * extraction stops after a page cap or once enough characters are collected.
  */
 public class ResumeParser {
 
-    private static final Pattern EMAIL_PATTERN = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}");
-    private static final Pattern PHONE_PATTERN = Pattern.compile("(\\+\\d{1,3}[- ]?)?\\d{10}");
+    public static final int DEFAULT_MAX_PAGES = 30;
+    public static final int DEFAULT_MAX_CHARS = 100_000;
+    public static final long DEFAULT_MAX_MAIN_MEMORY_BYTES = 8L * 1024 * 1024;
 
-    public Candidate parseResume(File file) throws IOException {
-        String content;
+    private static final PipelineMetrics METRICS = PipelineMetrics.global();
 
-        if (file.getName().toLowerCase().endsWith(".pdf")) {
-            content = parsePdf(file);
-        } else {
-            content = Files.readString(file.toPath());
-        }
+    // 0 means "no limit" for each of these
+    private volatile int maxPages = DEFAULT_MAX_PAGES;
+    private volatile int maxChars = DEFAULT_MAX_CHARS;
+    private volatile long maxMainMemoryBytes = DEFAULT_MAX_MAIN_MEMORY_BYTES;
+    private volatile ParseCache parseCache;
+
+    /**
+     * Reuses extracted fields for files whose path, size and modification
+     * time have not changed.
+     */
+    public void setParseCache(ParseCache parseCache) {
+        this.parseCache = parseCache;
+    }
+
+    public ParseCache getParseCache() {
+        return parseCache;
+    }
 
+    /**
+     * Stops PDF extraction after this many pages (0 = all pages).
+     */
+    public void setMaxPages(int maxPages) {
+        this.maxPages = Math.max(0, maxPages);
+    }
+
+    /**
+     * Stops extraction once this many characters are collected (0 = no limit).
+     */
+    public void setMaxChars(int maxChars) {
+        this.maxChars = Math.max(0, maxChars);
+    }
+
+    /**
+     * Heap PDFBox may use to buffer a document before spilling to a temp file
+     * (0 = keep everything in memory).
+     */
+    public void setMaxMainMemoryBytes(long maxMainMemoryBytes) {
+        this.maxMainMemoryBytes = Math.max(0, maxMainMemoryBytes);
+    }
+
+    public Candidate parseResume(File file) throws IOException {
         String name = file.getName().replace(".txt", "").replace(".pdf", ""); // Simple heuristic: filename is name
-        String email = extractEmail(content);
-        String phone = extractPhone(content);
+        PipelineEvents.ResumeParse event = new PipelineEvents.ResumeParse();
+        event.begin();
+        ParsedResume parsed = parseFields(file, event);
+        event.end();
+        if (event.shouldCommit()) {
+            event.candidate = name;
+            event.fileSize = file.length();
+            event.characters = parsed.getText().length();
+            event.commit();
+        }
 
-        Candidate candidate = new Candidate(name, email, phone, content);
-        candidate.setExperienceYears(estimateExperience(content));
+        Candidate candidate = new Candidate(name, parsed.getEmail(), parsed.getPhone(), parsed.getText());
+        candidate.setExperienceYears(parsed.getExperienceYears());
+        candidate.setSourcePath(file.getAbsolutePath());
 
         return candidate;
     }
 
-    private String parsePdf(File file) throws IOException {
-        try (PDDocument document = PDDocument.load(file)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
+    private ParsedResume parseFields(File file, PipelineEvents.ResumeParse event) throws IOException {
+        ParseCache cache = parseCache;
+        String key = null;
+        if (cache != null) {
+            BasicFileAttributes attrs = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            key = ParseCache.key(file.toPath(), attrs.size(), attrs.lastModifiedTime().toMillis(),
+                    maxPages + "/" + maxChars);
+            ParsedResume cached = cache.get(key);
+            if (cached != null) {
+                METRICS.increment(PipelineMetrics.Counter.PARSE_CACHE_HITS);
+                event.cacheHit = true;
+                return cached;
+            }
         }
-    }
 
-    private String extractEmail(String text) {
-        Matcher matcher = EMAIL_PATTERN.matcher(text);
-        if (matcher.find()) {
-            return matcher.group();
+        String content;
+
+        long start = System.nanoTime();
+        if (file.getName().toLowerCase().endsWith(".pdf")) {
+            content = parsePdf(file, event);
+            METRICS.record(PipelineMetrics.Stage.PDF_EXTRACTION, start);
+        } else {
+            content = readText(file);
+            METRICS.record(PipelineMetrics.Stage.TEXT_READ, start);
         }
-        return "Not Found";
-    }
+        METRICS.add(PipelineMetrics.Counter.BYTES_READ, file.length());
 
-    private String extractPhone(String text) {
-        Matcher matcher = PHONE_PATTERN.matcher(text);
-        if (matcher.find()) {
-            return matcher.group();
+        // Email, phone and experience in one pass over the text
+        start = System.nanoTime();
+        ParsedResume parsed = ResumeFieldScanner.scan(content);
+        METRICS.record(PipelineMetrics.Stage.FIELD_EXTRACTION, start);
+        METRICS.increment(PipelineMetrics.Counter.RESUMES_PARSED);
+        if (cache != null) {
+            cache.put(key, parsed);
         }
-        return "Not Found";
+        return parsed;
     }
 
-    private int estimateExperience(String text) {
-        // Robust regex for variations like "5 years", "10+ yrs", "3years", etc.
-        Pattern expPattern = Pattern.compile("(\\d{1,2})\\+?\\s*(years?|yrs?|yr?)", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = expPattern.matcher(text);
-
-        int highestExperience = 0;
-        while (matcher.find()) {
-            try {
-                int years = Integer.parseInt(matcher.group(1));
-                if (years > highestExperience && years < 50) { // Capping at 50 to avoid outliers
-                    highestExperience = years;
+    private String parsePdf(File file, PipelineEvents.ResumeParse event) throws IOException {
+        MemoryUsageSetting memory = maxMainMemoryBytes > 0
+                ? MemoryUsageSetting.setupMixed(maxMainMemoryBytes)
+                : MemoryUsageSetting.setupMainMemoryOnly();
+        try (PDDocument document = PDDocument.load(file, memory)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            int pages = document.getNumberOfPages();
+            if (maxPages > 0) {
+                pages = Math.min(pages, maxPages);
+            }
+
+            // Extract page by page so we can stop as soon as we have enough text
+            StringBuilder text = new StringBuilder();
+            for (int page = 1; page <= pages; page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                text.append(stripper.getText(document));
+                METRICS.increment(PipelineMetrics.Counter.PAGES_READ);
+                event.pages++;
+                if (maxChars > 0 && text.length() >= maxChars) {
+                    text.setLength(maxChars);
+                    break;
                 }
-            } catch (NumberFormatException e) {
-                // Ignore
             }
+            return text.toString();
+        }
+    }
+
+    private String readText(File file) throws IOException {
+        if (maxChars == 0) {
+            return Files.readString(file.toPath());
+        }
+        // Read at most maxChars characters instead of the whole file
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            char[] buffer = new char[Math.min(maxChars, 8192)];
+            StringBuilder text = new StringBuilder();
+            int read;
+            while (text.length() < maxChars
+                    && (read = reader.read(buffer, 0, Math.min(buffer.length, maxChars - text.length()))) > 0) {
+                text.append(buffer, 0, read);
+            }
+            return text.toString();
         }
-        return highestExperience;
     }
 }
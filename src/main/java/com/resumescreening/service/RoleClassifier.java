@@ -0,0 +1,231 @@
+package com.resumescreening.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Recommends roles from a candidate's technical skill ids.
+ *
+ * Role profiles are weighted skill groups compiled into bit masks over the
+ * taxonomy, so classifying a candidate is one mask intersection per group and
+ * does not depend on how many skills the roles name. Profiles come from
+ * {@code roles.properties} next to this class, or from the file named by the
+ * {@code smarthire.roles} system property.
+ */
+public class RoleClassifier {
+
+    public static final String CONFIG_PROPERTY = "smarthire.roles";
+    private static final String DEFAULT_CONFIG = "roles.properties";
+
+    private final List<String> vocabulary;
+    private final String[] roleNames;
+    private final BitSet[][] groupMasks; // [role][group]
+    private final int[][] groupWeights;
+    private final String[] compositeNames;
+    private final int[][] compositeParts; // Role indices that make up each composite
+    private final String noSkillsRole;
+    private final String noMatchRole;
+
+    /**
+     * Compiles the role definitions in {@code config} against the technical
+     * skills of a taxonomy.
+     */
+    public RoleClassifier(Properties config, List<String> vocabulary) {
+        this.vocabulary = vocabulary;
+        Map<String, Integer> skillIndex = new HashMap<>();
+        for (int i = 0; i < vocabulary.size(); i++) {
+            skillIndex.putIfAbsent(vocabulary.get(i).toLowerCase(), i);
+        }
+
+        List<String> roleIds = list(config.getProperty("roles", ""));
+        Map<String, Integer> roleIndex = new HashMap<>();
+        roleNames = new String[roleIds.size()];
+        groupMasks = new BitSet[roleIds.size()][];
+        groupWeights = new int[roleIds.size()][];
+        for (int r = 0; r < roleIds.size(); r++) {
+            String id = roleIds.get(r);
+            roleIndex.put(id, r);
+            roleNames[r] = config.getProperty("role." + id + ".name", id);
+
+            List<BitSet> masks = new ArrayList<>();
+            List<Integer> weights = new ArrayList<>();
+            for (int g = 1; config.containsKey("role." + id + ".group." + g); g++) {
+                String group = config.getProperty("role." + id + ".group." + g);
+                int colon = group.indexOf(':');
+                if (colon < 0)
+                    throw new IllegalArgumentException("Group needs a weight (weight: skills): " + group);
+                BitSet mask = new BitSet(vocabulary.size());
+                for (String skill : list(group.substring(colon + 1))) {
+                    Integer index = skillIndex.get(skill.toLowerCase());
+                    if (index != null) {
+                        mask.set(index);
+                    }
+                }
+                masks.add(mask);
+                weights.add(Integer.parseInt(group.substring(0, colon).trim()));
+            }
+            groupMasks[r] = masks.toArray(new BitSet[0]);
+            groupWeights[r] = weights.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        List<String> compositeIds = list(config.getProperty("composites", ""));
+        compositeNames = new String[compositeIds.size()];
+        compositeParts = new int[compositeIds.size()][];
+        for (int c = 0; c < compositeIds.size(); c++) {
+            String id = compositeIds.get(c);
+            compositeNames[c] = config.getProperty("composite." + id + ".name", id);
+            List<String> parts = list(config.getProperty("composite." + id + ".roles", ""));
+            compositeParts[c] = new int[parts.size()];
+            for (int p = 0; p < parts.size(); p++) {
+                Integer index = roleIndex.get(parts.get(p));
+                if (index == null)
+                    throw new IllegalArgumentException("Composite " + id + " names unknown role: " + parts.get(p));
+                compositeParts[c][p] = index;
+            }
+        }
+
+        noSkillsRole = config.getProperty("fallback.noSkills", "General Software Engineer");
+        noMatchRole = config.getProperty("fallback.noMatch", "Software Engineer");
+    }
+
+    /**
+     * Loads the role definitions from the file named by the
+     * {@code smarthire.roles} system property, or the bundled defaults.
+     */
+    public static Properties loadConfig() {
+        Properties config = new Properties();
+        String override = System.getProperty(CONFIG_PROPERTY);
+        try {
+            if (override != null && !override.isEmpty()) {
+                try (Reader in = Files.newBufferedReader(Paths.get(override), StandardCharsets.UTF_8)) {
+                    config.load(in);
+                }
+                return config;
+            }
+            try (InputStream in = RoleClassifier.class.getResourceAsStream(DEFAULT_CONFIG)) {
+                if (in == null)
+                    throw new IllegalStateException("Missing bundled " + DEFAULT_CONFIG);
+                config.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load role definitions: " + e.getMessage(), e);
+        }
+        return config;
+    }
+
+    /**
+     * The technical skill list the masks were compiled against.
+     */
+    public List<String> getVocabulary() {
+        return vocabulary;
+    }
+
+    /**
+     * Returns the single recommended role: the best scoring role (earlier
+     * roles win ties), replaced by a composite role where one applies.
+     */
+    public String primaryRole(BitSet skills) {
+        if (skills.isEmpty())
+            return noSkillsRole;
+        int[] scores = scores(skills);
+        int best = -1;
+        for (int r = 0; r < scores.length; r++) {
+            if (scores[r] > 0 && (best < 0 || scores[r] > scores[best])) {
+                best = r;
+            }
+        }
+        if (best < 0)
+            return noMatchRole;
+        for (int c = 0; c < compositeNames.length; c++) {
+            if (appliesTo(compositeParts[c], best, scores))
+                return compositeNames[c];
+        }
+        return roleNames[best];
+    }
+
+    /**
+     * Returns up to {@code n} roles with a positive score, best first.
+     */
+    public List<RoleScore> topRoles(BitSet skills, int n) {
+        int[] scores = scores(skills);
+        List<RoleScore> ranked = new ArrayList<>();
+        for (int r = 0; r < scores.length; r++) {
+            if (scores[r] > 0) {
+                ranked.add(new RoleScore(roleNames[r], scores[r]));
+            }
+        }
+        ranked.sort((a, b) -> Integer.compare(b.getScore(), a.getScore())); // Stable: config order on ties
+        return ranked.size() > n ? new ArrayList<>(ranked.subList(0, n)) : ranked;
+    }
+
+    private int[] scores(BitSet skills) {
+        int[] scores = new int[roleNames.length];
+        for (int r = 0; r < roleNames.length; r++) {
+            BitSet[] masks = groupMasks[r];
+            for (int g = 0; g < masks.length; g++) {
+                if (masks[g].intersects(skills)) {
+                    scores[r] += groupWeights[r][g];
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static boolean appliesTo(int[] parts, int best, int[] scores) {
+        boolean containsBest = false;
+        for (int part : parts) {
+            if (scores[part] <= 0)
+                return false;
+            containsBest |= part == best;
+        }
+        return containsBest;
+    }
+
+    private static List<String> list(String value) {
+        List<String> items = new ArrayList<>();
+        for (String item : value.split(",")) {
+            String trimmed = item.trim();
+            if (!trimmed.isEmpty()) {
+                items.add(trimmed);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * A role and the weight of the skill groups it matched.
+     */
+    public static final class RoleScore {
+        private final String role;
+        private final int score;
+
+        RoleScore(String role, int score) {
+            this.role = role;
+            this.score = score;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return role + " (" + score + ")";
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.resumescreening.service;
+
+import com.resumescreening.model.Candidate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Collects candidates that become ready one at a time (e.g. as parsing
+ * finishes) and scores them in groups of {@link ScoringEngine#getBatchSize()}
+ * per similarity request.
+ * Call {@link #flush()} once no more candidates will be submitted so the
+ * last partial group is sent.
+ * Once a group has fallen back to local scoring (the remote model failed or
+ * the circuit breaker is open), every group that finishes after it is scored
+ * locally too, even if the model recovers, so a run switches scorer only
+ * once. Candidates scored before the switch keep their model scores; use
+ * {@link ScoringEngine#alignScorers} on whatever is still held to match them.
+ */
+public final class ScoreBatcher {
+
+    private final ScoringEngine engine;
+    private final JobProfile profile;
+    private List<Candidate> pending = new ArrayList<>();
+    private List<CompletableFuture<Double>> waiting = new ArrayList<>();
+    private volatile boolean localOnly;
+
+    ScoreBatcher(ScoringEngine engine, JobProfile profile) {
+        this.engine = engine;
+        this.profile = profile;
+    }
+
+    public CompletableFuture<Double> submit(Candidate candidate) {
+        CompletableFuture<Double> score = new CompletableFuture<>();
+        boolean full;
+        synchronized (this) {
+            pending.add(candidate);
+            waiting.add(score);
+            full = pending.size() >= engine.getBatchSize();
+        }
+        if (full) {
+            flush();
+        }
+        return score;
+    }
+
+    public void flush() {
+        List<Candidate> batch;
+        List<CompletableFuture<Double>> futures;
+        synchronized (this) {
+            if (pending.isEmpty())
+                return;
+            batch = pending;
+            futures = waiting;
+            pending = new ArrayList<>();
+            waiting = new ArrayList<>();
+        }
+        if (localOnly) {
+            double[] scores = engine.localScores(batch, profile);
+            for (int i = 0; i < futures.size(); i++) {
+                futures.get(i).complete(scores[i]);
+            }
+            return;
+        }
+        engine.calculateScoresAsync(batch, profile).whenComplete((remoteScores, error) -> {
+            double[] scores = remoteScores;
+            if (error == null && engine.isRemoteEnabled()
+                    && !keepModelScores(ScoringEngine.REMOTE_SCORER.equals(batch.get(0).getScoredBy()))) {
+                scores = engine.localScores(batch, profile); // Sent before the switch, finished after it
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                if (error != null) {
+                    futures.get(i).completeExceptionally(error);
+                } else {
+                    futures.get(i).complete(scores[i]);
+                }
+            }
+        });
+    }
+
+    // Switches to local scoring when a group comes back without model scores
+    private synchronized boolean keepModelScores(boolean scoredByModel) {
+        if (!scoredByModel) {
+            localOnly = true;
+        }
+        return scoredByModel && !localOnly;
+    }
+
+    /**
+     * True once this batcher has switched to local scoring for good.
+     */
+    public boolean isLocalOnly() {
+        return localOnly;
+    }
+}
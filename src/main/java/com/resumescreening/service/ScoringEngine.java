@@ -7,8 +7,20 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -19,95 +31,716 @@ import org.json.JSONObject;
 public class ScoringEngine {
 
     private static final String API_URL = "https://router.huggingface.co/hf-inference/models/sentence-transformers/all-MiniLM-L6-v2";
-    private String apiKey;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 16;
+    private static final int DEFAULT_BATCH_SIZE = 32;
+    private static final double DEFAULT_REQUESTS_PER_SECOND = 10;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final long BASE_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 10_000;
+    private static final int CIRCUIT_FAILURE_THRESHOLD = 3;
+    private static final Duration CIRCUIT_OPEN_DURATION = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Scorer tag of candidates scored by the remote model (see
+     * {@link Candidate#getScoredBy()}); local scores carry the strategy id.
+     */
+    public static final String REMOTE_SCORER = "model";
+
+    private static final PipelineMetrics METRICS = PipelineMetrics.global();
+
+    // One long-lived client so connections, HTTP/2 streams and TLS sessions are reused
+    private static final HttpClient SHARED_CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private volatile String apiKey;
+    private volatile URI endpoint = URI.create(API_URL);
+    private volatile int batchSize = DEFAULT_BATCH_SIZE;
+    private volatile SimilarityCache similarityCache;
+    private volatile ScoringStrategy localStrategy = new KeywordScoringStrategy();
+    private volatile SkillTaxonomy taxonomy = SkillTaxonomy.defaults();
+    private volatile boolean compactCandidates;
+    private TaxonomyWatcher taxonomyWatcher;
+    private final Properties roleConfig = RoleClassifier.loadConfig();
+    private volatile RoleClassifier roleClassifier;
+    private final HttpClient httpClient;
+    private final RequestLimiter requestLimiter = new RequestLimiter(DEFAULT_MAX_IN_FLIGHT);
+    private final TokenBucket rateLimiter = new TokenBucket(DEFAULT_REQUESTS_PER_SECOND, DEFAULT_REQUESTS_PER_SECOND);
+    private volatile CircuitBreaker circuitBreaker = new CircuitBreaker(CIRCUIT_FAILURE_THRESHOLD,
+            CIRCUIT_OPEN_DURATION);
+    private volatile int maxRetries = DEFAULT_MAX_RETRIES;
+    private volatile Duration requestTimeout = DEFAULT_REQUEST_TIMEOUT;
 
     public ScoringEngine(String apiKey) {
+        this(apiKey, SHARED_CLIENT);
+    }
+
+    public ScoringEngine(String apiKey, HttpClient httpClient) {
         this.apiKey = apiKey;
+        this.httpClient = httpClient;
     }
 
     public void setApiKey(String apiKey) {
         this.apiKey = apiKey;
     }
 
-    public double calculateScore(Candidate candidate, JobDescription jobDescription) throws Exception {
-        if (apiKey == null || apiKey.isEmpty()) {
-            // Fallback if no API key: basic keyword matching
-            return basicKeywordScore(candidate.getRawText(), jobDescription.getRawText());
+    /**
+     * Caps the number of similarity requests on the wire at once.
+     * Further requests queue without holding a thread.
+     */
+    public void setMaxInFlightRequests(int maxInFlight) {
+        requestLimiter.setLimit(maxInFlight);
+    }
+
+    public int getMaxInFlightRequests() {
+        return requestLimiter.getLimit();
+    }
+
+    /**
+     * Limits how many similarity requests are started per second, with
+     * bursts of up to one second's worth. 0 disables rate limiting.
+     */
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        rateLimiter.setRate(requestsPerSecond, Math.max(1, requestsPerSecond));
+    }
+
+    public double getRequestsPerSecond() {
+        return rateLimiter.getRatePerSecond();
+    }
+
+    /**
+     * Sets how often a request answered with 429/503 (or an I/O error) is
+     * retried before the batch falls back to local scoring.
+     */
+    public void setMaxRetries(int maxRetries) {
+        if (maxRetries < 0)
+            throw new IllegalArgumentException("Retries must not be negative: " + maxRetries);
+        this.maxRetries = maxRetries;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Sets how long to wait for a similarity response. A request that takes
+     * longer counts as an I/O error and is retried.
+     */
+    public void setRequestTimeout(Duration requestTimeout) {
+        if (requestTimeout.isZero() || requestTimeout.isNegative())
+            throw new IllegalArgumentException("Request timeout must be positive: " + requestTimeout);
+        this.requestTimeout = requestTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Opens the circuit breaker after {@code failureThreshold} consecutive
+     * failed requests and keeps it open for {@code openDuration} before one
+     * trial request is let through. Resets the breaker to closed.
+     */
+    public void setCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+    }
+
+    /**
+     * True while repeated failures have the remote model switched off and
+     * every score comes from the local strategy.
+     */
+    public boolean isCircuitOpen() {
+        return circuitBreaker.getState() == CircuitBreaker.State.OPEN;
+    }
+
+    /**
+     * Overrides the sentence-similarity endpoint, e.g. to point at a local
+     * stand-in server.
+     */
+    public void setEndpoint(String url) {
+        this.endpoint = URI.create(url);
+    }
+
+    /**
+     * Sets how many resumes are sent per similarity request. Larger lists are
+     * split into several requests automatically.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be at least 1: " + batchSize);
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Puts a cache in front of the remote model. Only successful model
+     * scores are cached, never keyword fallbacks.
+     */
+    public void setSimilarityCache(SimilarityCache similarityCache) {
+        this.similarityCache = similarityCache;
+    }
+
+    public SimilarityCache getSimilarityCache() {
+        return similarityCache;
+    }
+
+    /**
+     * Replaces the skill taxonomy. Profiles compiled earlier keep the taxonomy
+     * they were compiled with.
+     */
+    public void setTaxonomy(SkillTaxonomy taxonomy) {
+        this.taxonomy = taxonomy;
+    }
+
+    /**
+     * Loads the taxonomy from {@code file} and reloads it whenever the file
+     * changes, checking every {@code interval}. Each new version is compiled
+     * in the background and swapped in atomically: batches already running
+     * finish with the taxonomy their profile was compiled with, and the next
+     * compiled profile picks up the new one.
+     */
+    public synchronized void watchTaxonomy(Path file, Duration interval) throws IOException {
+        stopWatchingTaxonomy();
+        taxonomyWatcher = new TaxonomyWatcher(file, interval, this::setTaxonomy);
+    }
+
+    public synchronized void stopWatchingTaxonomy() {
+        if (taxonomyWatcher != null) {
+            taxonomyWatcher.close();
+            taxonomyWatcher = null;
+        }
+    }
+
+    public SkillTaxonomy getTaxonomy() {
+        return taxonomy;
+    }
+
+    /**
+     * Returns the role classifier compiled for the taxonomy's skills. It is
+     * compiled once and reused until a different taxonomy is passed.
+     */
+    public RoleClassifier getRoleClassifier(SkillTaxonomy taxonomy) {
+        RoleClassifier classifier = roleClassifier;
+        if (classifier == null || classifier.getVocabulary() != taxonomy.getTechnicalSkills()) {
+            classifier = new RoleClassifier(roleConfig, taxonomy.getTechnicalSkills());
+            roleClassifier = classifier;
+        }
+        return classifier;
+    }
+
+    /**
+     * When enabled, each candidate's resume text is compressed once its skill
+     * analysis is done. Worth it for large pools where the text is rarely
+     * needed again; re-scoring still works but decompresses it.
+     */
+    public void setCompactCandidates(boolean compactCandidates) {
+        this.compactCandidates = compactCandidates;
+    }
+
+    public boolean isCompactCandidates() {
+        return compactCandidates;
+    }
+
+    /**
+     * Sets the in-process strategy used when no API key is configured and as
+     * the fallback when a remote request fails.
+     */
+    public void setLocalStrategy(ScoringStrategy localStrategy) {
+        this.localStrategy = localStrategy;
+    }
+
+    public ScoringStrategy getLocalStrategy() {
+        return localStrategy;
+    }
+
+    /**
+     * True when scores come from the local strategy and it needs to see the
+     * whole resume pool (see {@link #prepareCorpus(List)}) first.
+     */
+    public boolean needsCorpus() {
+        return !isRemoteEnabled() && localStrategy.needsCorpus();
+    }
+
+    public boolean isRemoteEnabled() {
+        String key = apiKey;
+        return key != null && !key.isEmpty();
+    }
+
+    /**
+     * Lets the local strategy compute corpus statistics over the resume pool.
+     */
+    public void prepareCorpus(List<Candidate> pool) {
+        localStrategy.prepare(pool);
+    }
+
+    /**
+     * Re-ranks the best {@code topN} candidates of an already ranked list with
+     * the remote model, leaving the rest in their local order.
+     * Typical use: rank a large pool offline, then spend API calls only on the
+     * shortlist. Completes immediately when no API key is configured.
+     */
+    public CompletableFuture<List<Candidate>> rerankAsync(List<Candidate> ranked, int topN, JobProfile profile) {
+        if (!isRemoteEnabled() || topN <= 0)
+            return CompletableFuture.completedFuture(ranked);
+        List<Candidate> head = new ArrayList<>(ranked.subList(0, Math.min(topN, ranked.size())));
+        List<Candidate> tail = ranked.subList(head.size(), ranked.size());
+        return calculateScoresAsync(head, profile).thenApply(scores -> {
+            for (int i = 0; i < scores.length; i++) {
+                head.get(i).setScore(scores[i]);
+            }
+            head.sort(Comparator.comparingDouble(Candidate::calculateScore).reversed());
+            List<Candidate> result = new ArrayList<>(ranked.size());
+            result.addAll(head);
+            result.addAll(tail);
+            return result;
+        });
+    }
+
+    /**
+     * Brings candidates analyzed against {@code previous} up to date with an
+     * edited JD without re-reading or rescanning their resumes where possible.
+     * Only the required-skill difference is re-applied to each candidate's
+     * stored skill ids, keyword scores are recomputed from those ids, and the
+     * remote model is only called again if the text it sees has changed (the
+     * similarity cache then serves resumes whose text it has seen before).
+     * Candidates that fell back to local scoring are re-scored locally
+     * whenever the required skills change.
+     * Candidates analyzed with another taxonomy get a full analysis.
+     */
+    public CompletableFuture<List<Candidate>> rescoreAsync(List<Candidate> candidates, JobProfile previous,
+            JobProfile updated) {
+        boolean sameTaxonomy = previous.getTaxonomy() == updated.getTaxonomy();
+        if (sameTaxonomy && previous.getRawText().equals(updated.getRawText()))
+            return CompletableFuture.completedFuture(candidates); // Nothing was edited
+
+        BitSet required = updated.requiredSkillBits();
+        boolean skillsChanged = !sameTaxonomy || !previous.requiredSkillBits().equals(required);
+        if (skillsChanged) {
+            for (Candidate c : candidates) {
+                if (sameTaxonomy && c.getTechnicalSkillIds() != null) {
+                    c.setRequiredSkillIds(required); // Matched/missing are derived from the ids
+                } else {
+                    performSkillAnalysis(c, updated);
+                }
+            }
+        }
+
+        CompletableFuture<double[]> scoring;
+        if (isRemoteEnabled()) {
+            boolean remoteTextChanged = !Arrays.equals(previous.remoteTextDigest(), updated.remoteTextDigest());
+            if (remoteTextChanged) {
+                scoring = calculateScoresAsync(candidates, updated);
+            } else if (skillsChanged) {
+                // Model scores still hold; fallback scores were computed against the old skills
+                double[] scores = new double[candidates.size()];
+                for (int i = 0; i < scores.length; i++) {
+                    Candidate c = candidates.get(i);
+                    if (REMOTE_SCORER.equals(c.getScoredBy())) {
+                        scores[i] = c.getCurrentScore();
+                    } else {
+                        scores[i] = localScore(c, updated);
+                        c.setScoredBy(localStrategy.getId());
+                    }
+                }
+                scoring = CompletableFuture.completedFuture(scores);
+            } else {
+                scoring = null;
+            }
+        } else if (localStrategy instanceof KeywordScoringStrategy) {
+            // Keyword scores only depend on the required skills, already matched above
+            double[] scores = new double[candidates.size()];
+            for (int i = 0; i < scores.length; i++) {
+                BitSet ids = candidates.get(i).getTechnicalSkillIds();
+                scores[i] = ids != null ? KeywordScoringStrategy.score(ids, required)
+                        : localScore(candidates.get(i), updated);
+                candidates.get(i).setScoredBy(localStrategy.getId());
+            }
+            scoring = skillsChanged ? CompletableFuture.completedFuture(scores) : null;
+        } else {
+            scoring = calculateScoresAsync(candidates, updated);
         }
 
+        if (scoring == null)
+            return CompletableFuture.completedFuture(candidates);
+        return scoring.thenApply(scores -> {
+            for (int i = 0; i < scores.length; i++) {
+                candidates.get(i).setScore(scores[i]);
+            }
+            return candidates;
+        });
+    }
+
+    /**
+     * Compiles the JD once so it can be reused for every candidate of a batch.
+     */
+    public JobProfile compileProfile(JobDescription jobDescription) {
+        return new JobProfile(jobDescription, taxonomy);
+    }
+
+    public double calculateScore(Candidate candidate, JobDescription jobDescription) throws Exception {
+        return calculateScore(candidate, compileProfile(jobDescription));
+    }
+
+    public double calculateScore(Candidate candidate, JobProfile profile) throws Exception {
         try {
-            double similarity = getSemanticSimilarity(candidate.getRawText(), jobDescription.getRawText());
-            // Normalize or weight it if necessary.
-            // The model returns cosine similarity (usually 0 to 1 for this model).
-            return similarity * 100; // Return as percentage
-        } catch (Exception e) {
-            System.err.println("API Error: " + e.getMessage());
-            // Fallback
-            return basicKeywordScore(candidate.getRawText(), jobDescription.getRawText());
+            return calculateScoreAsync(candidate, profile).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
         }
     }
 
-    private double getSemanticSimilarity(String sourceText, String targetText)
-            throws IOException, InterruptedException {
-        HttpClient client = HttpClient.newHttpClient();
+    /**
+     * Scores the candidate without blocking the calling thread.
+     * Falls back to keyword matching when no API key is set or the request
+     * fails, so the returned future only completes exceptionally on
+     * programming errors.
+     */
+    public CompletableFuture<Double> calculateScoreAsync(Candidate candidate, JobProfile profile) {
+        return calculateScoresAsync(List.of(candidate), profile).thenApply(scores -> scores[0]);
+    }
+
+    /**
+     * Scores many candidates with as few remote calls as possible: the JD is
+     * sent once as the source sentence and up to {@link #getBatchSize()}
+     * resumes as the compared sentences of each request.
+     * The returned scores are in the same order as the candidates, and each
+     * candidate is tagged with the scorer that produced its score
+     * ({@link #REMOTE_SCORER} or the local strategy's id).
+     * If any request of the call ultimately fails, or the circuit breaker is
+     * open, every candidate of the call is scored locally, so one list is
+     * never ranked by a mix of scorers.
+     */
+    public CompletableFuture<double[]> calculateScoresAsync(List<Candidate> candidates, JobProfile profile) {
+        double[] scores = new double[candidates.size()];
+        String key = apiKey;
+        if (key == null || key.isEmpty()) {
+            // Fallback if no API key: in-process strategy
+            return CompletableFuture.completedFuture(localScores(candidates, profile));
+        }
+
+        // Serve what we can from the cache and only send the misses
+        SimilarityCache cache = similarityCache;
+        List<Candidate> misses = candidates;
+        List<SimilarityCache.Key> missKeys = null;
+        int[] missPositions = null;
+        if (cache != null) {
+            String modelId = endpoint.toString();
+            misses = new ArrayList<>();
+            missKeys = new ArrayList<>();
+            missPositions = new int[candidates.size()];
+            for (int i = 0; i < candidates.size(); i++) {
+                Candidate c = candidates.get(i);
+                SimilarityCache.Key cacheKey = SimilarityCache.key(
+                        JobProfile.truncateForRemote(c.getRawText()), profile.remoteTextDigest(), modelId);
+                Double cached = cache.get(cacheKey);
+                if (cached != null) {
+                    scores[i] = cached;
+                } else {
+                    missPositions[misses.size()] = i;
+                    misses.add(c);
+                    missKeys.add(cacheKey);
+                }
+            }
+        }
 
-        // Truncate texts if too long (API limits)
-        String cleanSource = sourceText.substring(0, Math.min(sourceText.length(), 1000));
-        String cleanTarget = targetText.substring(0, Math.min(targetText.length(), 1000));
+        int size = batchSize;
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < misses.size(); from += size) {
+            int to = Math.min(misses.size(), from + size);
+            int offset = from;
+            int[] positions = missPositions;
+            List<SimilarityCache.Key> chunkKeys = missKeys == null ? null : missKeys.subList(from, to);
+            chunks.add(scoreChunkAsync(key, misses.subList(from, to), chunkKeys, profile).thenAccept(chunkScores -> {
+                for (int i = 0; i < chunkScores.length; i++) {
+                    scores[positions == null ? offset + i : positions[offset + i]] = chunkScores[i];
+                }
+            }));
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).handle((ignored, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                if (!(cause instanceof CircuitOpenException)) { // Already reported when the breaker opened
+                    System.err.println("API Error: " + cause.getMessage() + " (scoring " + candidates.size()
+                            + " candidates with " + localStrategy.getId() + " instead)");
+                }
+                return localScores(candidates, profile);
+            }
+            candidates.forEach(c -> c.setScoredBy(REMOTE_SCORER));
+            return scores;
+        });
+    }
+
+    /**
+     * Creates a collector that groups candidates submitted one at a time into
+     * batched similarity requests.
+     */
+    public ScoreBatcher newScoreBatcher(JobProfile profile) {
+        return new ScoreBatcher(this, profile);
+    }
+
+    /**
+     * Makes sure a finished batch was ranked by a single scorer. If the
+     * circuit breaker tripped part-way through, candidates scored by the
+     * remote model earlier are re-scored locally to match the rest (all of
+     * them, for a strategy that needs corpus statistics).
+     * Returns true if any score changed, in which case the caller should
+     * re-sort.
+     * Only the candidates passed in can be aligned: rows already streamed out
+     * or dropped from a top-K ranking keep the scorer they were tagged with.
+     */
+    public boolean alignScorers(List<Candidate> candidates, JobProfile profile) {
+        List<Candidate> remote = new ArrayList<>();
+        boolean anyLocal = false;
+        for (Candidate c : candidates) {
+            if (REMOTE_SCORER.equals(c.getScoredBy())) {
+                remote.add(c);
+            } else {
+                anyLocal = true;
+            }
+        }
+        if (!anyLocal || remote.isEmpty())
+            return false;
+        if (localStrategy.needsCorpus()) {
+            // Now that the pool is known, give every candidate corpus-aware scores
+            localStrategy.prepare(candidates);
+            remote = candidates;
+        }
+        double[] scores = localScores(remote, profile);
+        for (int i = 0; i < scores.length; i++) {
+            remote.get(i).setScore(scores[i]);
+        }
+        return true;
+    }
+
+    double[] localScores(List<Candidate> candidates, JobProfile profile) {
+        ScoringStrategy strategy = localStrategy;
+        double[] scores = new double[candidates.size()];
+        for (int i = 0; i < scores.length; i++) {
+            Candidate c = candidates.get(i);
+            scores[i] = strategy.score(c, profile);
+            c.setScoredBy(strategy.getId());
+        }
+        return scores;
+    }
+
+    // Completes exceptionally if the request still fails after all retries
+    private CompletableFuture<double[]> scoreChunkAsync(String key, List<Candidate> chunk,
+            List<SimilarityCache.Key> cacheKeys, JobProfile profile) {
+        SimilarityCache cache = similarityCache;
+        HttpRequest request = buildSimilarityRequest(key, chunk, profile);
+        CircuitBreaker breaker = circuitBreaker;
+        return sendWithRetry(request, chunk, 0, breaker, breaker.acquire())
+                .thenApply(response -> {
+                    double[] similarities = parseSimilarities(response, chunk.size());
+                    METRICS.add(PipelineMetrics.Counter.REMOTE_SENTENCES, similarities.length);
+                    // Normalize or weight it if necessary.
+                    // The model returns cosine similarity (usually 0 to 1 for this model).
+                    for (int i = 0; i < similarities.length; i++) {
+                        similarities[i] *= 100; // Return as percentage
+                        if (cache != null && cacheKeys != null) {
+                            cache.put(cacheKeys.get(i), similarities[i]);
+                        }
+                    }
+                    return similarities;
+                });
+    }
+
+    /**
+     * Sends the request through the rate limiter and concurrency cap,
+     * retrying 429/503 responses and I/O errors with jittered exponential
+     * backoff. Each attempt checks the circuit breaker right before it goes
+     * out, so requests queued behind a failure are not sent once the breaker
+     * has opened, and a half-open breaker only sees its one trial request.
+     * The breaker records one outcome per request, after retries.
+     */
+    private CompletableFuture<HttpResponse<String>> sendWithRetry(HttpRequest request, List<Candidate> chunk,
+            int attempt, CircuitBreaker breaker, CircuitBreaker.Permit permit) {
+        if (!breaker.allows(permit))
+            return CompletableFuture.failedFuture(new CircuitOpenException());
+
+        CompletableFuture<HttpResponse<String>> result = new CompletableFuture<>();
+        rateLimiter.acquire()
+                .thenCompose(ignored -> requestLimiter.acquire())
+                .thenCompose(ignored -> {
+                    if (!breaker.allows(permit)) // Opened while this request was queued
+                        return CompletableFuture.<HttpResponse<String>>failedFuture(new CircuitOpenException());
+                    long sent = System.nanoTime();
+                    METRICS.increment(PipelineMetrics.Counter.REMOTE_REQUESTS);
+                    PipelineEvents.RemoteScore event = new PipelineEvents.RemoteScore();
+                    event.begin();
+                    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                            .whenComplete((response, error) -> {
+                                METRICS.record(PipelineMetrics.Stage.REMOTE_SIMILARITY, sent);
+                                commitRemoteEvent(event, request, chunk, attempt, response);
+                            });
+                })
+                .whenComplete((response, error) -> {
+                    requestLimiter.release();
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (cause instanceof CircuitOpenException) {
+                        result.completeExceptionally(cause); // Never sent, so not an outcome
+                        return;
+                    }
+                    boolean retryable = cause instanceof IOException
+                            || (response != null && (response.statusCode() == 429 || response.statusCode() == 503));
+                    if (retryable && attempt < maxRetries) {
+                        long delay = backoffMillis(attempt, response);
+                        METRICS.increment(PipelineMetrics.Counter.REMOTE_RETRIES);
+                        CompletableFuture.runAsync(() -> {
+                        }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                                .thenCompose(waited -> sendWithRetry(request, chunk, attempt + 1, breaker, permit))
+                                .whenComplete((retried, retryError) -> {
+                                    if (retryError != null) {
+                                        result.completeExceptionally(retryError);
+                                    } else {
+                                        result.complete(retried);
+                                    }
+                                });
+                        return;
+                    }
+
+                    // Final outcome of this request
+                    if (cause == null && response.statusCode() == 200) {
+                        breaker.recordSuccess(permit);
+                        result.complete(response);
+                        return;
+                    }
+                    METRICS.increment(PipelineMetrics.Counter.REMOTE_FAILURES);
+                    if (breaker.recordFailure(permit)) {
+                        System.err.println("API Error: circuit breaker opened, using " + localStrategy.getId()
+                                + " scoring for " + breaker.getOpenDuration().toSeconds() + "s");
+                    }
+                    if (cause != null) {
+                        result.completeExceptionally(cause);
+                    } else {
+                        result.complete(response); // Non-retryable status, reported by parseSimilarities
+                    }
+                });
+        return result;
+    }
+
+    // A request the circuit breaker did not let through
+    private static final class CircuitOpenException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        CircuitOpenException() {
+            super("Circuit breaker open, not calling the model");
+        }
+    }
+
+    private static void commitRemoteEvent(PipelineEvents.RemoteScore event, HttpRequest request,
+            List<Candidate> chunk, int attempt, HttpResponse<String> response) {
+        event.end();
+        if (!event.shouldCommit())
+            return;
+        StringBuilder ids = new StringBuilder();
+        for (Candidate c : chunk) {
+            if (ids.length() > 0) {
+                ids.append(',');
+            }
+            ids.append(c.getName());
+        }
+        event.candidates = ids.toString();
+        event.sentences = chunk.size();
+        event.attempt = attempt;
+        event.statusCode = response == null ? -1 : response.statusCode();
+        event.requestSize = request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(-1L);
+        event.responseSize = response == null ? 0 : responseBytes(response);
+        event.commit();
+    }
+
+    // Bytes on the wire: Content-Length if sent, else the UTF-8 size of the decoded body
+    private static long responseBytes(HttpResponse<String> response) {
+        OptionalLong length = response.headers().firstValueAsLong("Content-Length");
+        if (length.isPresent())
+            return length.getAsLong();
+        String body = response.body();
+        long bytes = 0;
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < body.length()
+                    && Character.isLowSurrogate(body.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    // Full jitter: uniform in [0, base * 2^attempt], capped; Retry-After wins when present
+    private long backoffMillis(int attempt, HttpResponse<String> response) {
+        if (response != null) {
+            Optional<String> retryAfter = response.headers().firstValue("Retry-After");
+            if (retryAfter.isPresent()) {
+                try {
+                    return Math.min(MAX_BACKOFF_MILLIS, Long.parseLong(retryAfter.get().trim()) * 1000);
+                } catch (NumberFormatException e) {
+                    // HTTP-date form: fall through to the computed delay
+                }
+            }
+        }
+        long ceiling = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private HttpRequest buildSimilarityRequest(String key, List<Candidate> chunk, JobProfile profile) {
+        // Truncate texts if too long (API limits). The JD side is pre-truncated.
+        JSONArray sentences = new JSONArray();
+        for (Candidate c : chunk) {
+            String text = c.getRawText();
+            sentences.put(JobProfile.truncateForRemote(text));
+        }
 
         JSONObject payload = new JSONObject();
         payload.put("inputs", new JSONObject()
-                .put("source_sentence", cleanSource)
-                .put("sentences", new JSONArray().put(cleanTarget)));
+                .put("source_sentence", profile.getRemoteText())
+                .put("sentences", sentences));
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(API_URL))
-                .header("Authorization", "Bearer " + apiKey)
+        return HttpRequest.newBuilder()
+                .uri(endpoint)
+                .timeout(requestTimeout)
+                .header("Authorization", "Bearer " + key)
                 .header("Content-Type", "application/json")
                 .POST(HttpRequest.BodyPublishers.ofString(payload.toString()))
                 .build();
+    }
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-        if (response.statusCode() == 200) {
-            // The API returns a list of scores for the "sentences" list
-            JSONArray scores = new JSONArray(response.body());
-            return scores.getDouble(0);
-        } else {
-            throw new IOException("API request failed: " + response.statusCode() + " " + response.body());
+    private double[] parseSimilarities(HttpResponse<String> response, int expected) {
+        if (response.statusCode() != 200) {
+            throw new CompletionException(
+                    new IOException("API request failed: " + response.statusCode() + " " + response.body()));
+        }
+        // The API returns a list of scores for the "sentences" list
+        JSONArray scores = new JSONArray(response.body());
+        if (scores.length() != expected) {
+            throw new CompletionException(new IOException(
+                    "API returned " + scores.length() + " scores for " + expected + " sentences"));
         }
+        double[] result = new double[expected];
+        for (int i = 0; i < expected; i++) {
+            result[i] = scores.getDouble(i);
+        }
+        return result;
     }
 
     // Fallback method (Polymorphic-ish behavior based on availability / condition)
-    private double basicKeywordScore(String resume, String jd) {
-        String jdText = jd.toLowerCase();
-        String resumeText = resume.toLowerCase();
-
-        String[] technicalSkills = {
-                "java", "python", "c++", "c#", "golang", "rust", "php", "ruby", "swift", "kotlin",
-                "javascript", "typescript", "html", "css", "react", "angular", "vue", "next.js", "node.js",
-                "spring", "hibernate", "django", "flask", "express", "asp.net", "laravel",
-                "sql", "mysql", "postgresql", "mongodb", "redis", "oracle", "sql server",
-                "docker", "kubernetes", "aws", "azure", "gcp", "terraform", "ansible",
-                "git", "maven", "gradle", "jenkins", "ci/cd", "linux", "agile", "scrum", "devops",
-                "machine learning", "data science", "nlp", "rest api", "graphql", "microservices"
-        };
-
-        int totalRequired = 0;
-        int matched = 0;
-
-        for (String skill : technicalSkills) {
-            if (jdText.contains(skill)) {
-                totalRequired++;
-                if (resumeText.contains(skill)) {
-                    matched++;
-                }
-            }
-        }
-
-        if (totalRequired == 0)
-            return 50.0; // Neutral score if no specific keywords found
-        return (double) matched / totalRequired * 100;
+    private double localScore(Candidate candidate, JobProfile profile) {
+        return localStrategy.score(candidate, profile);
     }
 
     /**
@@ -116,69 +749,67 @@ public class ScoringEngine {
      * analysis.
      */
     public void performSkillAnalysis(Candidate candidate, JobDescription jd) {
-        String jdText = jd.getRawText().toLowerCase();
-        String resumeText = candidate.getRawText().toLowerCase();
-
-        // Comprehensive tech skills list
-        String[] technicalSkills = {
-                "java", "python", "c++", "c#", "golang", "rust", "php", "ruby", "swift", "kotlin",
-                "javascript", "typescript", "html", "css", "react", "angular", "vue", "next.js", "node.js",
-                "spring", "hibernate", "django", "flask", "express", "asp.net", "laravel",
-                "sql", "mysql", "postgresql", "mongodb", "redis", "oracle", "sql server",
-                "docker", "kubernetes", "aws", "azure", "gcp", "terraform", "ansible",
-                "git", "maven", "gradle", "jenkins", "ci/cd", "linux", "agile", "scrum", "devops",
-                "machine learning", "data science", "nlp", "rest api", "graphql", "microservices"
-        };
-
-        // Soft skills list
-        String[] softSkills = {
-                "communication", "leadership", "teamwork", "problem solving", "critical thinking",
-                "adaptability", "time management", "creativity", "collaboration", "management"
-        };
-
-        // Education keywords
-        String[] educationKeywords = {
-                "bachelor", "master", "phd", "degree", "computer science", "engineering", "bsc", "msc"
-        };
-
-        List<String> matchedTech = new ArrayList<>();
-        List<String> missingTech = new ArrayList<>();
-        List<String> matchedSoft = new ArrayList<>();
-        List<String> allCandidateSkills = new ArrayList<>();
-
-        // Analyze Technical Skills
-        for (String skill : technicalSkills) {
-            // Check if candidate has the skill regardless of JD
-            if (resumeText.contains(skill)) {
-                allCandidateSkills.add(skill);
-            }
+        performSkillAnalysis(candidate, compileProfile(jd));
+    }
 
-            // Check against JD for matching/missing analysis
-            if (jdText.contains(skill)) {
-                if (resumeText.contains(skill)) {
-                    matchedTech.add(skill);
-                } else {
-                    missingTech.add(skill);
-                }
-            }
-        }
+    public void performSkillAnalysis(Candidate candidate, JobProfile profile) {
+        long start = System.nanoTime();
+        PipelineEvents.SkillAnalysis event = new PipelineEvents.SkillAnalysis();
+        event.begin();
+        // Only the resume is scanned here; the JD was compiled into the profile
+        SkillTaxonomy taxonomy = profile.getTaxonomy();
+        BitSet required = profile.requiredSkillBits();
+        String text = candidate.getRawText();
+        SkillTaxonomy.Hits resumeHits = taxonomy.scan(text);
 
-        // Analyze Soft Skills
-        for (String skill : softSkills) {
-            if (resumeText.contains(skill)) {
-                matchedSoft.add(skill);
-            }
+        List<String> technicalSkills = taxonomy.getTechnicalSkills();
+        List<String> softSkills = taxonomy.getSoftSkills();
+        List<String> educationKeywords = taxonomy.getEducationKeywords();
+
+        // Analyze Technical Skills; matched and missing follow from the ids
+        BitSet candidateTech = resumeHits.getTechnical();
+        candidate.setSkillIds(technicalSkills, candidateTech, required, softSkills, resumeHits.getSoft());
+
+        // Role Recommendation using ALL candidate skills
+        candidate.setRecommendedRole(getRoleClassifier(taxonomy).primaryRole(candidateTech));
+
+        // Structured Education
+        String detectedEdu = "Experience Based";
+        String eduNice = null;
+        int eduIndex = resumeHits.getEducation().nextSetBit(0); // First keyword in taxonomy order
+        if (eduIndex >= 0) {
+            String edu = educationKeywords.get(eduIndex);
+            eduNice = edu.substring(0, 1).toUpperCase() + edu.substring(1);
+            detectedEdu = eduNice + " Level";
         }
+        candidate.setEducation(eduNice);
+        candidate.setEducationSummary(detectedEdu); // Store structured education
 
-        candidate.setMatchedSkills(matchedTech);
-        candidate.setMissingSkills(missingTech);
-        candidate.setMatchedSoftSkills(matchedSoft); // Store structured soft skills
+        // The report is rendered when asked for, so later score changes show up in it
+        candidate.setAnalysisRenderer(ScoringEngine::buildAnalysisReport);
+        if (compactCandidates) {
+            candidate.compactText();
+        }
+        METRICS.record(PipelineMetrics.Stage.SKILL_ANALYSIS, start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.candidate = candidate.getName();
+            event.textSize = text == null ? 0 : text.length();
+            event.matchedSkills = candidate.getMatchedSkills().size();
+            event.commit();
+        }
+    }
 
-        // Advanced Role Recommendation logic using ALL candidate skills
-        String role = determineRole(allCandidateSkills);
-        candidate.setRecommendedRole(role);
+    /**
+     * Builds the detailed analysis text from the candidate's structured
+     * analysis fields.
+     */
+    static String buildAnalysisReport(Candidate candidate) {
+        List<String> matchedTech = candidate.getMatchedSkills();
+        List<String> missingTech = candidate.getMissingSkills();
+        List<String> matchedSoft = candidate.getMatchedSoftSkills();
+        String role = candidate.getRecommendedRole();
 
-        // Build Detailed Analysis & Structured Education
         StringBuilder analysis = new StringBuilder();
         analysis.append("--- CANDIDATE ANALYSIS REPORT ---\n\n");
 
@@ -212,21 +843,11 @@ public class ScoringEngine {
 
         analysis.append("[4. EXPERIENCE & EDUCATION]\n");
         analysis.append("- Estimated Experience: ").append(candidate.getExperienceYears()).append(" years.\n");
-        boolean hasEdu = false;
-        String detectedEdu = "Experience Based";
-        for (String edu : educationKeywords) {
-            if (resumeText.contains(edu)) {
-                String eduNice = edu.substring(0, 1).toUpperCase() + edu.substring(1);
-                analysis.append("- Education noted: ").append(eduNice).append(" detected.\n");
-                detectedEdu = eduNice + " Level";
-                hasEdu = true;
-                break;
-            }
-        }
-        if (!hasEdu)
+        if (candidate.getEducation() != null) {
+            analysis.append("- Education noted: ").append(candidate.getEducation()).append(" detected.\n");
+        } else {
             analysis.append("- Specific degree not explicitly parsed.\n");
-
-        candidate.setEducationSummary(detectedEdu); // Store structured education
+        }
         analysis.append("\n");
 
         analysis.append("[5. SUMMARY RECOMMENDATION]\n");
@@ -244,46 +865,6 @@ public class ScoringEngine {
                     "LOW MATCH: Candidate does not significantly meet the core requirements for this specific role.");
         }
 
-        candidate.setAnalysisDetails(analysis.toString());
-    }
-
-    private String determineRole(List<String> matched) {
-        if (matched.isEmpty())
-            return "General Software Engineer";
-
-        int backend = 0, frontend = 0, data = 0, devops = 0;
-
-        if (matched.contains("java") || matched.contains("spring") || matched.contains("python")
-                || matched.contains("node.js"))
-            backend += 2;
-        if (matched.contains("sql") || matched.contains("postgresql") || matched.contains("mongodb"))
-            backend += 1;
-
-        if (matched.contains("javascript") || matched.contains("react") || matched.contains("angular")
-                || matched.contains("html") || matched.contains("css"))
-            frontend += 2;
-        if (matched.contains("typescript") || matched.contains("vue"))
-            frontend += 1;
-
-        if (matched.contains("machine learning") || matched.contains("data science") || matched.contains("nlp")
-                || matched.contains("python"))
-            data += 2;
-
-        if (matched.contains("docker") || matched.contains("kubernetes") || matched.contains("aws")
-                || matched.contains("jenkins") || matched.contains("devops"))
-            devops += 2;
-
-        if (data >= backend && data >= frontend && data >= devops && data > 0)
-            return "Data Scientist / ML Engineer";
-        if (devops >= backend && devops >= frontend && devops > 0)
-            return "DevOps Engineer";
-        if (backend > 0 && frontend > 0)
-            return "Fullstack Developer";
-        if (backend > frontend)
-            return "Backend Developer";
-        if (frontend > backend)
-            return "Frontend Developer";
-
-        return "Software Engineer";
+        return analysis.toString();
     }
 }
@@ -0,0 +1,36 @@
+package com.resumescreening.service;
+
+import com.resumescreening.model.Candidate;
+
+import java.util.List;
+
+/**
+ * In-process way of scoring a candidate against a compiled JD.
+ * Applied Concept: Polymorphism (the engine works with any implementation).
+ */
+public interface ScoringStrategy {
+
+    /**
+     * Short identifier, e.g. "keyword" or "tfidf".
+     */
+    String getId();
+
+    /**
+     * Whether {@link #prepare(List)} must see the whole resume pool before
+     * scores are meaningful.
+     */
+    default boolean needsCorpus() {
+        return false;
+    }
+
+    /**
+     * Computes any corpus-wide statistics over the uploaded resume pool.
+     */
+    default void prepare(List<Candidate> pool) {
+    }
+
+    /**
+     * Returns a match score between 0 and 100.
+     */
+    double score(Candidate candidate, JobProfile profile);
+}
@@ -0,0 +1,252 @@
+package com.resumescreening.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Content-addressed cache of remote similarity scores.
+ * Entries are keyed by a SHA-256 digest of the (truncated) resume text, the
+ * (truncated) JD text and the model id, so re-running the same resumes
+ * against the same JD never pays for inference again.
+ *
+ * Two tiers:
+ * - an in-memory LRU bounded by entry count;
+ * - an optional on-disk table that survives restarts. It is a fixed-size
+ *   open-addressing hash file, so its size never grows past
+ *   {@code diskSlots * 40} bytes; colliding entries overwrite older ones.
+ */
+public class SimilarityCache implements Closeable {
+
+    private static final int DIGEST_BYTES = 32;
+    private static final int SLOT_BYTES = DIGEST_BYTES + Double.BYTES;
+    private static final int MAX_PROBES = 8;
+
+    private final BoundedLruCache<Key, Double> memory;
+    private final FileChannel disk;
+    private final long diskSlots;
+    // Writers probe for a free slot and then fill it; both happen under this lock
+    private final Object diskLock = new Object();
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Memory-only cache.
+     */
+    public SimilarityCache(int maxEntries) {
+        this.memory = new BoundedLruCache<>(maxEntries);
+        this.disk = null;
+        this.diskSlots = 0;
+    }
+
+    /**
+     * Cache with a persistent tier stored in {@code file}.
+     */
+    public SimilarityCache(int maxEntries, Path file, long diskSlots) throws IOException {
+        if (diskSlots < MAX_PROBES)
+            throw new IllegalArgumentException("Disk tier needs at least " + MAX_PROBES + " slots");
+        this.memory = new BoundedLruCache<>(maxEntries);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.disk = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.diskSlots = diskSlots;
+    }
+
+    /**
+     * Builds the cache key. {@code jdDigest} comes from
+     * {@link #digest(String)} and is usually computed once per JD.
+     */
+    public static Key key(String resumeText, byte[] jdDigest, String modelId) {
+        MessageDigest md = sha256();
+        md.update(digest(resumeText));
+        md.update(jdDigest);
+        md.update(modelId.getBytes(StandardCharsets.UTF_8));
+        return new Key(md.digest());
+    }
+
+    public static byte[] digest(String text) {
+        return sha256().digest(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the cached score or {@code null} on a miss.
+     */
+    public Double get(Key key) {
+        Double value = memory.get(key);
+        if (value != null) {
+            memoryHits.increment();
+            return value;
+        }
+        value = readDisk(key);
+        if (value != null) {
+            diskHits.increment();
+            memory.put(key, value); // Promote to the hot tier
+            return value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(Key key, double score) {
+        memory.put(key, score);
+        writeDisk(key, score);
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.sum();
+    }
+
+    public long getDiskHits() {
+        return diskHits.sum();
+    }
+
+    public long getHits() {
+        return memoryHits.sum() + diskHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public int getMemorySize() {
+        return memory.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimilarityCache[memoryHits=%d, diskHits=%d, misses=%d, hitRate=%.1f%%]",
+                getMemoryHits(), getDiskHits(), getMisses(), getHitRate() * 100);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (disk != null) {
+            disk.close();
+        }
+    }
+
+    private Double readDisk(Key key) {
+        if (disk == null)
+            return null;
+        ByteBuffer slot = ByteBuffer.allocate(SLOT_BYTES);
+        byte[] stored = new byte[DIGEST_BYTES];
+        try {
+            long start = key.slot(diskSlots);
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                long position = ((start + probe) % diskSlots) * SLOT_BYTES;
+                slot.clear();
+                if (disk.read(slot, position) < SLOT_BYTES)
+                    return null; // Past the written part of the file
+                slot.flip();
+                slot.get(stored);
+                if (isEmpty(stored))
+                    return null;
+                if (Arrays.equals(stored, key.digest))
+                    return slot.getDouble();
+            }
+        } catch (IOException e) {
+            System.err.println("Similarity cache read failed: " + e.getMessage());
+        }
+        return null;
+    }
+
+    private void writeDisk(Key key, double score) {
+        if (disk == null)
+            return;
+        ByteBuffer slot = ByteBuffer.allocate(SLOT_BYTES);
+        byte[] stored = new byte[DIGEST_BYTES];
+        synchronized (diskLock) {
+            writeSlot(key, score, slot, stored);
+        }
+    }
+
+    private void writeSlot(Key key, double score, ByteBuffer slot, byte[] stored) {
+        try {
+            long start = key.slot(diskSlots);
+            long target = start;
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                long index = (start + probe) % diskSlots;
+                slot.clear();
+                if (disk.read(slot, index * SLOT_BYTES) < SLOT_BYTES) {
+                    target = index;
+                    break;
+                }
+                slot.flip();
+                slot.get(stored);
+                if (isEmpty(stored) || Arrays.equals(stored, key.digest)) {
+                    target = index;
+                    break;
+                }
+            }
+            // If the probe window is full the home slot is overwritten (eviction)
+            slot.clear();
+            slot.put(key.digest).putDouble(score).flip();
+            disk.write(slot, target * SLOT_BYTES);
+        } catch (IOException e) {
+            System.err.println("Similarity cache write failed: " + e.getMessage());
+        }
+    }
+
+    private static boolean isEmpty(byte[] digest) {
+        for (byte b : digest) {
+            if (b != 0)
+                return false;
+        }
+        return true;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Immutable cache key wrapping a SHA-256 digest.
+     */
+    public static final class Key {
+        private final byte[] digest;
+        private final int hash;
+
+        private Key(byte[] digest) {
+            this.digest = digest;
+            this.hash = Arrays.hashCode(digest);
+        }
+
+        private long slot(long slots) {
+            long h = ByteBuffer.wrap(digest).getLong();
+            return Math.floorMod(h, slots);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(digest, ((Key) o).digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.resumescreening.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton that finds every occurrence of a fixed set of
+ * keywords in a single linear pass over a text.
+ * Matching is case-insensitive and has the same substring semantics as
+ * {@code text.toLowerCase().contains(keyword)}.
+ * States near the root, where a scan spends most of its time, get a fully
+ * resolved transition row; deeper states only store their own children and
+ * fall back along failure links. That keeps memory and build time linear in
+ * the total keyword length, so taxonomies with tens of thousands of keywords
+ * and synonyms stay cheap to compile.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class SkillMatcher {
+
+    // States up to this depth get a dense transition row
+    private static final int DENSE_DEPTH = 2;
+    private static final int[] NO_OUTPUT = new int[0];
+
+    private final int patternCount;
+    private final int alphabetSize;
+    private final int[] asciiClass = new int[128];
+    private final Map<Character, Integer> extendedClass = new HashMap<>();
+
+    // Dense rows: delta[denseRow[state] * alphabetSize + charClass]; denseRow is -1 for sparse states
+    private final int[] denseRow;
+    private final int[] delta;
+    // Sparse states: children in childLabels/childTargets[childStart[state] .. childStart[state + 1])
+    private final int[] childStart;
+    private final int[] childLabels;
+    private final int[] childTargets;
+    private final int[] fail;
+    // Pattern ids ending at each state (including those reached via failure links)
+    private final int[][] outputs;
+
+    public SkillMatcher(List<String> patterns) {
+        this.patternCount = patterns.size();
+
+        // 1. Build a compact alphabet from the characters used by the patterns.
+        // Class 0 is reserved for "any other character", which always leads back
+        // to the root.
+        int nextClass = 1;
+        List<String> lowered = new ArrayList<>(patterns.size());
+        int totalLength = 0;
+        for (String pattern : patterns) {
+            String p = lower(pattern);
+            lowered.add(p);
+            totalLength += p.length();
+            for (int i = 0; i < p.length(); i++) {
+                char c = p.charAt(i);
+                if (classOf(c) == 0) {
+                    if (c < 128) {
+                        asciiClass[c] = nextClass++;
+                    } else {
+                        extendedClass.put(c, nextClass++);
+                    }
+                }
+            }
+        }
+        this.alphabetSize = nextClass;
+
+        // 2. Build the trie with first-child / next-sibling links.
+        int capacity = totalLength + 1;
+        int[] firstChild = new int[capacity];
+        int[] nextSibling = new int[capacity];
+        int[] label = new int[capacity];
+        int[] depth = new int[capacity];
+        List<List<Integer>> terminal = new ArrayList<>();
+        terminal.add(null);
+        int stateCount = 1;
+        for (int id = 0; id < lowered.size(); id++) {
+            String p = lowered.get(id);
+            if (p.isEmpty())
+                continue;
+            int state = 0;
+            for (int i = 0; i < p.length(); i++) {
+                int cls = classOf(p.charAt(i));
+                int target = firstChild[state];
+                while (target != 0 && label[target] != cls) {
+                    target = nextSibling[target];
+                }
+                if (target == 0) {
+                    target = stateCount++;
+                    label[target] = cls;
+                    depth[target] = depth[state] + 1;
+                    nextSibling[target] = firstChild[state];
+                    firstChild[state] = target;
+                    terminal.add(null);
+                }
+                state = target;
+            }
+            if (terminal.get(state) == null) {
+                terminal.set(state, new ArrayList<>(1));
+            }
+            terminal.get(state).add(id);
+        }
+
+        // 3. Flatten children, then resolve failure links breadth-first.
+        this.childStart = new int[stateCount + 1];
+        this.childLabels = new int[stateCount - 1];
+        this.childTargets = new int[stateCount - 1];
+        this.denseRow = new int[stateCount];
+        int denseCount = 0;
+        int edge = 0;
+        for (int state = 0; state < stateCount; state++) {
+            childStart[state] = edge;
+            for (int child = firstChild[state]; child != 0; child = nextSibling[child]) {
+                childLabels[edge] = label[child];
+                childTargets[edge++] = child;
+            }
+            denseRow[state] = depth[state] <= DENSE_DEPTH ? denseCount++ : -1;
+        }
+        childStart[stateCount] = edge;
+
+        this.delta = new int[denseCount * alphabetSize];
+        this.fail = new int[stateCount];
+        this.outputs = new int[stateCount][];
+        outputs[0] = toArray(terminal.get(0));
+
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = 0;
+        while (head < tail) {
+            int state = queue[head++];
+            for (int e = childStart[state]; e < childStart[state + 1]; e++) {
+                int child = childTargets[e];
+                fail[child] = state == 0 ? 0 : next(fail[state], childLabels[e]);
+                outputs[child] = merge(toArray(terminal.get(child)), outputs[fail[child]]);
+                queue[tail++] = child;
+            }
+            int row = denseRow[state];
+            if (row >= 0) {
+                // Parents and failure targets are shallower, so their rows are done
+                for (int cls = 0; cls < alphabetSize; cls++) {
+                    int target = childOf(state, cls);
+                    delta[row * alphabetSize + cls] = target >= 0 ? target
+                            : state == 0 ? 0 : delta[denseRow[fail[state]] * alphabetSize + cls];
+                }
+            }
+        }
+    }
+
+    public int getPatternCount() {
+        return patternCount;
+    }
+
+    /**
+     * Scans the text once and returns the ids (indices into the pattern list)
+     * of every pattern that occurs in it.
+     */
+    public BitSet findAll(CharSequence text) {
+        BitSet hits = new BitSet(patternCount);
+        findAll(text, hits);
+        return hits;
+    }
+
+    public void findAll(CharSequence text, BitSet hits) {
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = next(state, classOf(Character.toLowerCase(text.charAt(i))));
+            int[] out = outputs[state];
+            for (int id : out) {
+                hits.set(id);
+            }
+        }
+    }
+
+    private int next(int state, int cls) {
+        while (true) {
+            int row = denseRow[state];
+            if (row >= 0)
+                return delta[row * alphabetSize + cls];
+            int target = childOf(state, cls);
+            if (target >= 0)
+                return target;
+            state = fail[state];
+        }
+    }
+
+    private int childOf(int state, int cls) {
+        for (int e = childStart[state], end = childStart[state + 1]; e < end; e++) {
+            if (childLabels[e] == cls)
+                return childTargets[e];
+        }
+        return -1;
+    }
+
+    private int classOf(char c) {
+        if (c < 128)
+            return asciiClass[c];
+        Integer cls = extendedClass.get(c);
+        return cls == null ? 0 : cls;
+    }
+
+    private static String lower(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            sb.append(Character.toLowerCase(s.charAt(i)));
+        }
+        return sb.toString();
+    }
+
+    private static int[] toArray(List<Integer> ids) {
+        if (ids == null)
+            return NO_OUTPUT;
+        int[] result = new int[ids.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.get(i);
+        }
+        return result;
+    }
+
+    private static int[] merge(int[] a, int[] b) {
+        if (b.length == 0)
+            return a;
+        if (a.length == 0)
+            return b;
+        int[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
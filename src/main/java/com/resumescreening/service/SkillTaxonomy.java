@@ -0,0 +1,235 @@
+package com.resumescreening.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The set of technical skills, soft skills and education keywords the engine
+ * looks for, compiled into a single {@link SkillMatcher} so a text is scanned
+ * only once regardless of how many keywords the taxonomy holds.
+ * Keywords may have synonyms ("k8s" for kubernetes) that count as the keyword
+ * itself. Taxonomies are loaded from a text file (see the bundled
+ * {@value #DEFAULT_FILE}) and are immutable, so a new one can be compiled
+ * and swapped in while analyses keep using the old one.
+ */
+public final class SkillTaxonomy {
+
+    public static final String PROPERTY = "smarthire.taxonomy";
+
+    private static final String DEFAULT_FILE = "skills.taxonomy";
+
+    private static final SkillTaxonomy DEFAULTS = loadBundled();
+
+    private final List<String> technical;
+    private final List<String> soft;
+    private final List<String> education;
+    private final Map<String, List<String>> synonyms;
+    private final SkillMatcher matcher;
+    // Pattern ids past the keywords are synonyms; this maps them to keyword ids
+    private final int[] synonymTargets;
+
+    public SkillTaxonomy(List<String> technical, List<String> soft, List<String> education) {
+        this(technical, soft, education, Map.of());
+    }
+
+    /**
+     * {@code synonyms} maps a keyword of any category to the alternative
+     * spellings that should count as that keyword.
+     */
+    public SkillTaxonomy(List<String> technical, List<String> soft, List<String> education,
+            Map<String, List<String>> synonyms) {
+        this.technical = Collections.unmodifiableList(new ArrayList<>(technical));
+        this.soft = Collections.unmodifiableList(new ArrayList<>(soft));
+        this.education = Collections.unmodifiableList(new ArrayList<>(education));
+
+        // Pattern ids are laid out as [technical | soft | education | synonyms]
+        List<String> patterns = new ArrayList<>(technical.size() + soft.size() + education.size());
+        patterns.addAll(this.technical);
+        patterns.addAll(this.soft);
+        patterns.addAll(this.education);
+
+        Map<String, Integer> keywordIds = new HashMap<>();
+        for (int i = patterns.size() - 1; i >= 0; i--) {
+            keywordIds.put(patterns.get(i).toLowerCase(), i); // First occurrence wins
+        }
+        Map<String, List<String>> kept = new LinkedHashMap<>();
+        List<Integer> targets = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : synonyms.entrySet()) {
+            Integer target = keywordIds.get(entry.getKey().toLowerCase());
+            if (target == null)
+                throw new IllegalArgumentException("Synonyms given for unknown keyword: " + entry.getKey());
+            for (String synonym : entry.getValue()) {
+                patterns.add(synonym);
+                targets.add(target);
+            }
+            kept.put(entry.getKey(), List.copyOf(entry.getValue()));
+        }
+        this.synonyms = Collections.unmodifiableMap(kept);
+        this.synonymTargets = targets.stream().mapToInt(Integer::intValue).toArray();
+        this.matcher = new SkillMatcher(patterns);
+    }
+
+    /**
+     * The bundled taxonomy.
+     */
+    public static SkillTaxonomy defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * The taxonomy named by the {@value #PROPERTY} system property, or the
+     * bundled one if it is not set.
+     */
+    public static SkillTaxonomy configured() throws IOException {
+        String override = System.getProperty(PROPERTY);
+        return override == null || override.isEmpty() ? DEFAULTS : load(Paths.get(override));
+    }
+
+    public static SkillTaxonomy load(Path file) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(in, file.toString());
+        }
+    }
+
+    /**
+     * Reads the taxonomy file format: {@code [technical]}, {@code [soft]} and
+     * {@code [education]} sections with one keyword per line, optionally
+     * followed by {@code = synonym, synonym}. Blank lines and lines starting
+     * with {@code #} are ignored.
+     */
+    public static SkillTaxonomy parse(BufferedReader in, String source) throws IOException {
+        Map<String, List<String>> sections = new HashMap<>();
+        sections.put("technical", new ArrayList<>());
+        sections.put("soft", new ArrayList<>());
+        sections.put("education", new ArrayList<>());
+        Map<String, List<String>> synonyms = new LinkedHashMap<>();
+
+        List<String> section = null;
+        String line;
+        int lineNumber = 0;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#"))
+                continue;
+            if (line.startsWith("[") && line.endsWith("]")) {
+                section = sections.get(line.substring(1, line.length() - 1).trim().toLowerCase());
+                if (section == null)
+                    throw new IOException(source + ":" + lineNumber + ": unknown section " + line);
+                continue;
+            }
+            if (section == null)
+                throw new IOException(source + ":" + lineNumber + ": keyword outside a section");
+
+            int equals = line.indexOf('=');
+            String keyword = (equals < 0 ? line : line.substring(0, equals)).trim().toLowerCase();
+            if (keyword.isEmpty())
+                throw new IOException(source + ":" + lineNumber + ": missing keyword");
+            section.add(keyword);
+            if (equals >= 0) {
+                List<String> alternatives = synonyms.computeIfAbsent(keyword, k -> new ArrayList<>());
+                for (String synonym : line.substring(equals + 1).split(",")) {
+                    if (!synonym.isBlank()) {
+                        alternatives.add(synonym.trim().toLowerCase());
+                    }
+                }
+            }
+        }
+        return new SkillTaxonomy(sections.get("technical"), sections.get("soft"), sections.get("education"),
+                synonyms);
+    }
+
+    private static SkillTaxonomy loadBundled() {
+        try (InputStream in = SkillTaxonomy.class.getResourceAsStream(DEFAULT_FILE)) {
+            if (in == null)
+                throw new IllegalStateException("Missing bundled " + DEFAULT_FILE);
+            return parse(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), DEFAULT_FILE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load skill taxonomy: " + e.getMessage(), e);
+        }
+    }
+
+    public List<String> getTechnicalSkills() {
+        return technical;
+    }
+
+    public List<String> getSoftSkills() {
+        return soft;
+    }
+
+    public List<String> getEducationKeywords() {
+        return education;
+    }
+
+    /**
+     * Synonyms by keyword, in file order.
+     */
+    public Map<String, List<String>> getSynonyms() {
+        return synonyms;
+    }
+
+    /**
+     * Number of keywords plus synonyms the matcher looks for.
+     */
+    public int getPatternCount() {
+        return matcher.getPatternCount();
+    }
+
+    /**
+     * Scans the text once and reports which keywords of each category occur in
+     * it. Bit indices refer to positions in the corresponding category list.
+     */
+    public Hits scan(CharSequence text) {
+        BitSet all = matcher.findAll(text);
+        int softStart = technical.size();
+        int eduStart = softStart + soft.size();
+        int keywords = eduStart + education.size();
+        for (int id = all.nextSetBit(keywords); id >= 0; id = all.nextSetBit(id + 1)) {
+            all.set(synonymTargets[id - keywords]);
+        }
+        return new Hits(
+                all.get(0, softStart),
+                all.get(softStart, eduStart),
+                all.get(eduStart, eduStart + education.size()));
+    }
+
+    /**
+     * Keyword hits of a single scan, split by category.
+     */
+    public static final class Hits {
+        private final BitSet technical;
+        private final BitSet soft;
+        private final BitSet education;
+
+        Hits(BitSet technical, BitSet soft, BitSet education) {
+            this.technical = technical;
+            this.soft = soft;
+            this.education = education;
+        }
+
+        public BitSet getTechnical() {
+            return technical;
+        }
+
+        public BitSet getSoft() {
+            return soft;
+        }
+
+        public BitSet getEducation() {
+            return education;
+        }
+    }
+}
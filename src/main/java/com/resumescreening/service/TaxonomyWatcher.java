@@ -0,0 +1,76 @@
+package com.resumescreening.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Polls a taxonomy file and hands every successfully compiled new version to
+ * a consumer. Compilation happens on the watcher thread, so the swap itself
+ * is a single reference write. A file that fails to parse is reported and
+ * skipped; the previous taxonomy stays in use until the file changes again.
+ */
+final class TaxonomyWatcher implements Closeable {
+
+    private final Path file;
+    private final Consumer<SkillTaxonomy> target;
+    private final ScheduledExecutorService timer;
+    private String stamp;
+
+    /**
+     * Loads the file once (failing if it is invalid) and then checks it every
+     * {@code interval}.
+     */
+    TaxonomyWatcher(Path file, Duration interval, Consumer<SkillTaxonomy> target) throws IOException {
+        this.file = file;
+        this.target = target;
+        this.stamp = stampOf(file);
+        target.accept(SkillTaxonomy.load(file));
+        long millis = Math.max(1, interval.toMillis());
+        this.timer = Executors.newSingleThreadScheduledExecutor(BatchAnalyzer.daemonThreads("taxonomy-watch"));
+        timer.scheduleWithFixedDelay(this::check, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    private void check() {
+        String current;
+        try {
+            current = stampOf(file);
+        } catch (IOException e) {
+            current = "unreadable";
+        }
+        if (current.equals(stamp))
+            return;
+        stamp = current; // Report each version once, even if it is broken
+        try {
+            SkillTaxonomy taxonomy = SkillTaxonomy.load(file);
+            target.accept(taxonomy);
+            System.err.println("Reloaded skill taxonomy from " + file + " ("
+                    + taxonomy.getPatternCount() + " keywords and synonyms)");
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not reload skill taxonomy, keeping the current one: " + e.getMessage());
+        }
+    }
+
+    // Size and modification time; cheap enough to read every poll
+    private static String stampOf(Path file) throws IOException {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            return attrs.lastModifiedTime().toMillis() + "/" + attrs.size();
+        } catch (NoSuchFileException e) {
+            return "missing";
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+}
@@ -0,0 +1,33 @@
+package com.resumescreening.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal tokenizer shared by the scoring components.
+ * Splits on anything that is not a letter, digit, '+' or '#' so that tokens
+ * such as "c++" and "c#" survive, and lowercases as it goes.
+ */
+public final class TextTokens {
+
+    private TextTokens() {
+    }
+
+    public static List<String> tokenize(CharSequence text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '+' || c == '#') {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,142 @@
+package com.resumescreening.service;
+
+import com.resumescreening.model.Candidate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Offline scorer: cosine similarity between the JD and the resume in a
+ * TF-IDF space where resume term frequencies are BM25-saturated and
+ * length-normalized.
+ * Document frequencies are computed once over the resume pool in
+ * {@link #prepare(List)}; after that each candidate costs one tokenization
+ * pass and no network.
+ */
+public class TfIdfScoringStrategy implements ScoringStrategy {
+
+    // Standard BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private volatile CorpusStats stats = CorpusStats.EMPTY;
+    private volatile QueryVector lastQuery; // The JD vector is reused across a batch
+
+    @Override
+    public String getId() {
+        return "tfidf";
+    }
+
+    @Override
+    public boolean needsCorpus() {
+        return true;
+    }
+
+    @Override
+    public void prepare(List<Candidate> pool) {
+        Map<String, Integer> docFreq = new HashMap<>();
+        long totalLength = 0;
+        for (Candidate c : pool) {
+            List<String> tokens = TextTokens.tokenize(c.getRawText());
+            totalLength += tokens.size();
+            Set<String> unique = new HashSet<>(tokens);
+            for (String term : unique) {
+                docFreq.merge(term, 1, Integer::sum);
+            }
+        }
+        double avgLength = pool.isEmpty() ? 0 : (double) totalLength / pool.size();
+        this.stats = new CorpusStats(docFreq, pool.size(), avgLength);
+        this.lastQuery = null;
+    }
+
+    @Override
+    public double score(Candidate candidate, JobProfile profile) {
+        CorpusStats corpus = stats;
+        QueryVector query = queryFor(profile, corpus);
+        if (query.norm == 0)
+            return 0.0;
+
+        List<String> tokens = TextTokens.tokenize(candidate.getRawText());
+        if (tokens.isEmpty())
+            return 0.0;
+        Map<String, Integer> termFreq = new HashMap<>();
+        for (String token : tokens) {
+            termFreq.merge(token, 1, Integer::sum);
+        }
+
+        double lengthNorm = corpus.avgLength > 0 ? 1 - B + B * tokens.size() / corpus.avgLength : 1;
+        double dot = 0;
+        double norm = 0;
+        for (Map.Entry<String, Integer> e : termFreq.entrySet()) {
+            int tf = e.getValue();
+            double weight = tf * (K1 + 1) / (tf + K1 * lengthNorm) * corpus.idf(e.getKey());
+            norm += weight * weight;
+            Double q = query.weights.get(e.getKey());
+            if (q != null) {
+                dot += weight * q;
+            }
+        }
+        if (norm == 0)
+            return 0.0;
+        return dot / (Math.sqrt(norm) * query.norm) * 100;
+    }
+
+    private QueryVector queryFor(JobProfile profile, CorpusStats corpus) {
+        QueryVector cached = lastQuery;
+        if (cached != null && cached.profile == profile && cached.stats == corpus)
+            return cached;
+
+        Map<String, Integer> termFreq = new HashMap<>();
+        for (String token : profile.getTokens()) {
+            termFreq.merge(token, 1, Integer::sum);
+        }
+        Map<String, Double> weights = new HashMap<>();
+        double norm = 0;
+        for (Map.Entry<String, Integer> e : termFreq.entrySet()) {
+            double w = e.getValue() * corpus.idf(e.getKey());
+            weights.put(e.getKey(), w);
+            norm += w * w;
+        }
+        QueryVector query = new QueryVector(profile, corpus, weights, Math.sqrt(norm));
+        lastQuery = query;
+        return query;
+    }
+
+    private static final class CorpusStats {
+        static final CorpusStats EMPTY = new CorpusStats(Map.of(), 0, 0);
+
+        final Map<String, Integer> docFreq;
+        final int documents;
+        final double avgLength;
+
+        CorpusStats(Map<String, Integer> docFreq, int documents, double avgLength) {
+            this.docFreq = docFreq;
+            this.documents = documents;
+            this.avgLength = avgLength;
+        }
+
+        double idf(String term) {
+            if (documents == 0)
+                return 1.0; // No corpus yet: plain term-frequency cosine
+            int df = docFreq.getOrDefault(term, 0);
+            return Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+        }
+    }
+
+    private static final class QueryVector {
+        final JobProfile profile;
+        final CorpusStats stats;
+        final Map<String, Double> weights;
+        final double norm;
+
+        QueryVector(JobProfile profile, CorpusStats stats, Map<String, Double> weights, double norm) {
+            this.profile = profile;
+            this.stats = stats;
+            this.weights = weights;
+            this.norm = norm;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.resumescreening.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking token-bucket rate limiter for remote requests.
+ * Tokens refill continuously at {@code ratePerSecond} up to {@code burst}.
+ * A caller that finds the bucket empty reserves the next token and gets a
+ * future that completes when it is due, so waiting costs no thread.
+ */
+final class TokenBucket {
+
+    private double ratePerSecond;
+    private double burst;
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+
+    /**
+     * A rate of 0 or less disables limiting.
+     */
+    TokenBucket(double ratePerSecond, double burst) {
+        setRate(ratePerSecond, burst);
+    }
+
+    synchronized void setRate(double ratePerSecond, double burst) {
+        if (ratePerSecond > 0 && burst < 1)
+            throw new IllegalArgumentException("Burst must be at least 1: " + burst);
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.tokens = Math.min(tokens, burst);
+        this.lastRefill = System.nanoTime();
+    }
+
+    synchronized double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    /**
+     * Returns a future that completes once the caller may send a request.
+     */
+    CompletableFuture<Void> acquire() {
+        long waitNanos;
+        synchronized (this) {
+            if (ratePerSecond <= 0)
+                return CompletableFuture.completedFuture(null);
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefill) / 1e9 * ratePerSecond);
+            lastRefill = now;
+            tokens -= 1; // Negative balance = tokens already promised to earlier waiters
+            waitNanos = tokens >= 0 ? 0 : (long) (-tokens / ratePerSecond * 1e9);
+        }
+        if (waitNanos == 0)
+            return CompletableFuture.completedFuture(null);
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+    }
+}
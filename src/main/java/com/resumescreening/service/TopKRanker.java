@@ -0,0 +1,132 @@
+package com.resumescreening.service;
+
+import com.resumescreening.model.Candidate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Streaming ranker that keeps only the best K candidates, with their full
+ * analysis, while a large pool is being screened. Every candidate that falls
+ * out of the top K is reduced to a {@link ScoreRecord}, so the resume text
+ * and reports of the rest of the pool can be garbage collected.
+ * Equal scores are ordered by name, then source file, so which candidates
+ * are kept and their order do not depend on the order they were offered in.
+ * Thread-safe; candidates may be offered from any thread.
+ */
+public class TopKRanker {
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator
+            .comparingDouble(Candidate::calculateScore).reversed()
+            .thenComparing(Candidate::getName, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Candidate::getSourcePath, Comparator.nullsLast(Comparator.naturalOrder()));
+    // Heap order, so the weakest kept candidate is evicted first
+    private static final Comparator<Candidate> WEAKEST_FIRST = BEST_FIRST.reversed();
+
+    private final int k;
+    private final PriorityQueue<Candidate> best;
+    private final List<ScoreRecord> dropped = new ArrayList<>();
+    private long seen;
+
+    public TopKRanker(int k) {
+        if (k < 1)
+            throw new IllegalArgumentException("K must be at least 1: " + k);
+        this.k = k;
+        this.best = new PriorityQueue<>(Math.min(k, 1024) + 1, WEAKEST_FIRST);
+    }
+
+    /**
+     * Offers a scored candidate. Returns the candidate that dropped out of the
+     * top K as a result (the offered one if it did not make it, or the one it
+     * displaced), or null if the top K is not full yet.
+     */
+    public synchronized Candidate offer(Candidate candidate) {
+        seen++;
+        if (best.size() < k) {
+            best.add(candidate);
+            return null;
+        }
+        Candidate weakest = best.peek();
+        if (WEAKEST_FIRST.compare(candidate, weakest) <= 0) {
+            dropped.add(new ScoreRecord(candidate));
+            return candidate;
+        }
+        best.poll();
+        best.add(candidate);
+        dropped.add(new ScoreRecord(weakest));
+        return weakest;
+    }
+
+    /**
+     * Returns the kept candidates, best first.
+     */
+    public synchronized List<Candidate> ranked() {
+        List<Candidate> ranked = new ArrayList<>(best);
+        ranked.sort(BEST_FIRST);
+        return ranked;
+    }
+
+    /**
+     * Returns the compact records of every candidate outside the top K, in the
+     * order they dropped out.
+     */
+    public synchronized List<ScoreRecord> getDropped() {
+        return new ArrayList<>(dropped);
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Returns how many candidates have been offered so far.
+     */
+    public synchronized long getSeen() {
+        return seen;
+    }
+
+    /**
+     * What is kept of a candidate outside the top K: enough to identify and
+     * re-analyze it later.
+     */
+    public static final class ScoreRecord {
+        private final String name;
+        private final String email;
+        private final String sourcePath;
+        private final double score;
+
+        ScoreRecord(Candidate candidate) {
+            this.name = candidate.getName();
+            this.email = candidate.getEmail();
+            this.sourcePath = candidate.getSourcePath();
+            this.score = candidate.getCurrentScore();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        /**
+         * The resume file the candidate was parsed from, or null if it was
+         * not read from a file.
+         */
+        public String getSourcePath() {
+            return sourcePath;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%.1f%%)", name, score);
+        }
+    }
+}
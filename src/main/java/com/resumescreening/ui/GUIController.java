@@ -2,8 +2,17 @@ package com.resumescreening.ui;
 
 import com.resumescreening.model.Candidate;
 import com.resumescreening.model.JobDescription;
+import com.resumescreening.service.BatchAnalyzer;
+import com.resumescreening.service.DirectoryWatcher;
+import com.resumescreening.service.JobProfile;
+import com.resumescreening.service.ParseCache;
+import com.resumescreening.service.ResultExporter;
 import com.resumescreening.service.ResumeParser;
 import com.resumescreening.service.ScoringEngine;
+import com.resumescreening.service.SimilarityCache;
+import com.resumescreening.service.SkillTaxonomy;
+import com.resumescreening.service.TopKRanker;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.control.*;
@@ -17,13 +26,24 @@ import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.VBox;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.prefs.Preferences;
 
 import com.resumescreening.service.PDFExportService;
@@ -38,6 +58,7 @@ public class GUIController {
     private Stage primaryStage;
     private final ResumeParser resumeParser = new ResumeParser();
     private ScoringEngine scoringEngine;
+    private BatchAnalyzer batchAnalyzer;
 
     // UI Components
     @FXML
@@ -70,6 +91,8 @@ public class GUIController {
     private Button analyzeButton;
     @FXML
     private Button clearButton;
+    @FXML
+    private Button watchButton;
 
     // Details Components
     @FXML
@@ -83,9 +106,52 @@ public class GUIController {
 
     private List<File> selectedFiles = new ArrayList<>();
 
+    // State of the last completed run, used to re-score in place when only the JD changes
+    private JobProfile lastProfile;
+    private List<File> lastFiles = List.of();
+    private String lastApiKey = "";
+    private ResultsPublisher activePublisher; // Feeds the table while a batch runs
+    private DirectoryWatcher folderWatcher; // Non-null while a drop folder is watched
+    private ResultsPublisher watchPublisher;
+
+    private static final int SIMILARITY_CACHE_ENTRIES = 50_000;
+    private static final long SIMILARITY_CACHE_DISK_SLOTS = 1 << 20; // ~40 MB on disk
+    private static final long PARSE_CACHE_CHARS = 20_000_000; // ~40 MB of extracted text
+    private static final int TABLE_TOP_K = 500; // Larger pools only keep the best candidates in full
+    private static final int TAXONOMY_POLL_SECONDS = 2;
+
     public GUIController() {
         // Default constructor for FXML
         this.scoringEngine = new ScoringEngine("");
+        this.scoringEngine.setSimilarityCache(openSimilarityCache());
+        watchTaxonomy(scoringEngine);
+        // Re-analysis against a new JD reuses extracted text instead of re-reading PDFs
+        this.resumeParser.setParseCache(new ParseCache(PARSE_CACHE_CHARS,
+                Paths.get(System.getProperty("user.home"), ".smarthire", "parse-cache")));
+        this.batchAnalyzer = new BatchAnalyzer(resumeParser, scoringEngine);
+    }
+
+    private static SimilarityCache openSimilarityCache() {
+        // Persist model scores between sessions so re-runs skip the API
+        Path cacheFile = Paths.get(System.getProperty("user.home"), ".smarthire", "similarity.cache");
+        try {
+            return new SimilarityCache(SIMILARITY_CACHE_ENTRIES, cacheFile, SIMILARITY_CACHE_DISK_SLOTS);
+        } catch (IOException e) {
+            System.err.println("Could not open similarity cache, using memory only: " + e.getMessage());
+            return new SimilarityCache(SIMILARITY_CACHE_ENTRIES);
+        }
+    }
+
+    // A custom taxonomy (-Dsmarthire.taxonomy=<file>) can be edited while the app runs
+    private static void watchTaxonomy(ScoringEngine engine) {
+        String file = System.getProperty(SkillTaxonomy.PROPERTY);
+        if (file == null || file.isEmpty())
+            return;
+        try {
+            engine.watchTaxonomy(Paths.get(file), Duration.ofSeconds(TAXONOMY_POLL_SECONDS));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not load skill taxonomy, using the built-in one: " + e.getMessage());
+        }
     }
 
     public void setStage(Stage primaryStage) {
@@ -292,9 +358,119 @@ public class GUIController {
         }
     }
 
+    @FXML
+    private void handleWatchFolder() {
+        if (folderWatcher != null) {
+            stopWatching();
+            statusLabel.setText("Stopped watching folder.");
+            return;
+        }
+        String jdText = jdArea.getText();
+        if (jdText.isEmpty()) {
+            showAlert("Error", "Please enter a Job Description.");
+            return;
+        }
+        if (activePublisher != null) {
+            showAlert("Error", "Please wait for the current analysis to finish.");
+            return;
+        }
+        DirectoryChooser chooser = new DirectoryChooser();
+        chooser.setTitle("Select Drop Folder");
+        File dir = chooser.showDialog(primaryStage);
+        if (dir == null)
+            return;
+
+        String key = apiKeyField.getText().trim();
+        scoringEngine.setApiKey(key);
+        scoringEngine.setCompactCandidates(true); // The folder may keep growing all day
+        JobProfile profile = scoringEngine.compileProfile(new JobDescription("Current Role", jdText));
+
+        // Resumes from the folder are merged into whatever the table already ranks
+        Comparator<Candidate> order = Comparator.comparingDouble(Candidate::calculateScore).reversed();
+        ObservableList<Candidate> candidateList = resultsTable.getItems();
+        candidateList.sort(order);
+        lastProfile = null; // The table no longer matches one set of uploaded files
+
+        Map<File, Candidate> ranked = new ConcurrentHashMap<>(); // Latest candidate of each watched file
+        for (Candidate shown : candidateList) {
+            if (shown.getSourcePath() != null) {
+                // Already in the table: analyzed again only once the file changes
+                ranked.put(Paths.get(shown.getSourcePath()).toAbsolutePath().normalize().toFile(), shown);
+            }
+        }
+        AtomicInteger analyzed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger scoredLocally = new AtomicInteger(); // Model was down; these rank on a different scale
+        boolean remote = scoringEngine.isRemoteEnabled();
+        ResultsPublisher publisher = new ResultsPublisher(candidateList, order, (completed, total, shown) -> {
+            statusLabel.setText("Watching " + dir.getName() + ": " + completed + " new or changed resumes analyzed"
+                    + (scoredLocally.get() > 0
+                            ? ", " + scoredLocally.get() + " scored locally (model unavailable)"
+                            : "")
+                    + (failed.get() > 0 ? ", " + failed.get() + " failed." : "."));
+            resumeCountLabel.setText("Ranked: " + shown + " resumes");
+        });
+        BatchAnalyzer.Listener listener = new BatchAnalyzer.Listener() {
+            @Override
+            public void onCandidate(File file, Candidate candidate) {
+                if (remote && !ScoringEngine.REMOTE_SCORER.equals(candidate.getScoredBy())) {
+                    scoredLocally.incrementAndGet();
+                }
+                // Replaces the row of an earlier version of the file, if any
+                publisher.publishRanked(candidate, c -> ranked.put(file, c));
+                publisher.progress(analyzed.incrementAndGet(), 0);
+            }
+
+            @Override
+            public void onFailure(File file, Exception error) {
+                System.err.println("Failed to process " + file.getName() + ": " + error.getMessage());
+                failed.incrementAndGet();
+            }
+        };
+
+        try {
+            // Each batch is analyzed off the UI thread; the watcher waits for it before the next
+            DirectoryWatcher watcher = new DirectoryWatcher(dir.toPath(),
+                    files -> batchAnalyzer.analyze(files, profile, listener, false));
+            watcher.skipUnchanged(ranked.keySet());
+            publisher.start();
+            watcher.start(true);
+            folderWatcher = watcher;
+            watchPublisher = publisher;
+        } catch (IOException e) {
+            showAlert("Error", "Could not watch folder: " + e.getMessage());
+            return;
+        }
+        watchButton.setText("Stop Watching");
+        analyzeButton.setDisable(true);
+        statusLabel.setText("Watching " + dir.getName() + " for new resumes...");
+    }
+
+    private void stopWatching() {
+        if (folderWatcher == null)
+            return;
+        try {
+            folderWatcher.close();
+        } catch (IOException e) {
+            System.err.println("Could not close folder watch: " + e.getMessage());
+        }
+        watchPublisher.cancel(); // Results of a batch still running are dropped
+        folderWatcher = null;
+        watchPublisher = null;
+        watchButton.setText("Watch Folder");
+        analyzeButton.setDisable(false);
+    }
+
     @FXML
     private void handleClear() {
+        stopWatching();
         selectedFiles.clear();
+        lastProfile = null;
+        if (activePublisher != null) {
+            activePublisher.cancel(); // Results still arriving from a running batch are dropped
+            activePublisher = null;
+            setRunning(false);
+        }
         resultsTable.getItems().clear();
         detailsContent.getChildren().clear();
         skillsChart.setData(FXCollections.observableArrayList());
@@ -302,8 +478,31 @@ public class GUIController {
         resumeCountLabel.setText("No resumes uploaded");
     }
 
+    /**
+     * Stops background work and releases the caches and threads this screen
+     * owns. The controller is unusable afterwards.
+     */
+    public void dispose() {
+        stopWatching();
+        if (activePublisher != null) {
+            activePublisher.cancel();
+            activePublisher = null;
+        }
+        batchAnalyzer.shutdown();
+        scoringEngine.stopWatchingTaxonomy();
+        SimilarityCache cache = scoringEngine.getSimilarityCache();
+        if (cache != null) {
+            try {
+                cache.close();
+            } catch (IOException e) {
+                System.err.println("Could not close similarity cache: " + e.getMessage());
+            }
+        }
+    }
+
     @FXML
     private void handleRestart() {
+        dispose(); // The welcome screen creates a fresh controller next time
         try {
             // Load Welcome View
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/resumescreening/ui/WelcomeView.fxml"));
@@ -342,31 +541,148 @@ public class GUIController {
             prefs.put(PREF_API_KEY, key);
         }
 
-        JobDescription jd = new JobDescription("Current Role", jdText);
+        // Compile the JD once for the whole batch
+        JobProfile profile = scoringEngine.compileProfile(new JobDescription("Current Role", jdText));
+
+        // Same resumes and scorer as last time: only re-apply the JD change
+        if (lastProfile != null && lastFiles.equals(selectedFiles) && lastApiKey.equals(key)) {
+            handleIncrementalAnalysis(profile);
+            return;
+        }
+        lastProfile = null;
 
+        // Exactly the files this run analyzes; uploads are blocked until it finishes
+        List<File> runFiles = List.copyOf(selectedFiles);
         ObservableList<Candidate> candidateList = FXCollections.observableArrayList();
+        resultsTable.setItems(candidateList);
+        setRunning(true);
+        statusLabel.setText("Analyzing " + runFiles.size() + " resumes...");
+
+        // Parse, score and analyze in the background; results stream into the table
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        TopKRanker ranker = runFiles.size() > TABLE_TOP_K ? new TopKRanker(TABLE_TOP_K) : null;
+        scoringEngine.setCompactCandidates(ranker != null); // Large pools keep resume text compressed
+        int fileCount = runFiles.size();
+
+        // Sort by score descending; rows are added in per-frame batches
+        ResultsPublisher publisher = new ResultsPublisher(candidateList,
+                Comparator.comparingDouble(Candidate::calculateScore).reversed(),
+                (completed, total, shown) -> {
+                    statusLabel.setText("Analyzed " + completed + " of " + total + " resumes...");
+                    resumeCountLabel.setText("Ranked: " + shown + " of " + fileCount + " resumes");
+                });
+        publisher.start();
+        activePublisher = publisher;
+
+        AtomicInteger modelScored = new AtomicInteger();
+        batchAnalyzer.analyze(runFiles, profile, new BatchAnalyzer.Listener() {
+            @Override
+            public void onCandidate(Candidate candidate) {
+                if (ScoringEngine.REMOTE_SCORER.equals(candidate.getScoredBy())) {
+                    modelScored.incrementAndGet();
+                }
+                if (ranker == null) {
+                    publisher.publish(candidate);
+                } else {
+                    publisher.publishRanked(candidate, ranker::offer); // Shows only the top K
+                }
+            }
 
-        // Process in a rudimentary loop (Blocking UI for simplicity in this demo,
-        // in real app use a background thread/Task)
-        for (File file : selectedFiles) {
-            try {
-                Candidate c = resumeParser.parseResume(file);
-                double score = scoringEngine.calculateScore(c, jd);
-                c.setScore(score);
+            @Override
+            public void onFailure(File file, Exception error) {
+                error.printStackTrace();
+                failures.add(file.getName() + ": " + error.getMessage());
+            }
 
-                // Perform detailed skill analysis
-                scoringEngine.performSkillAnalysis(c, jd);
+            @Override
+            public void onProgress(int completed, int total) {
+                publisher.progress(completed, total);
+            }
 
-                candidateList.add(c);
-            } catch (Exception e) {
-                e.printStackTrace();
-                showAlert("Error", "Failed to parse " + file.getName() + ": " + e.getMessage());
+            @Override
+            public void onComplete(List<Candidate> candidates) {
+                int analyzed = ranker == null ? candidates.size() : (int) ranker.getSeen();
+                // The analyzer already aligned a retained pool; a top-K table is aligned here
+                if (ranker != null) {
+                    scoringEngine.alignScorers(ranker.ranked(), profile);
+                }
+                publisher.complete(() -> {
+                    activePublisher = null;
+                    if (scoringEngine.isRemoteEnabled()) {
+                        // Rows shown with model scores may have been re-scored locally since
+                        candidateList.sort(Comparator.comparingDouble(Candidate::calculateScore).reversed());
+                        resultsTable.refresh();
+                    }
+                    // A top-K table no longer holds the whole pool, so it cannot be re-scored in place
+                    lastProfile = ranker == null ? profile : null;
+                    lastFiles = runFiles;
+                    lastApiKey = key;
+                    setRunning(false);
+                    String ranked = ranker == null ? analyzed + " candidates ranked."
+                            : "showing the top " + candidateList.size() + " of " + analyzed + " candidates.";
+                    if (ranker != null && modelScored.get() > 0 && modelScored.get() < analyzed) {
+                        // Candidates dropped under model scores are gone and cannot be re-scored
+                        ranked += " The model failed part-way, so the top list was picked on mixed scores;"
+                                + " analyze again to rank everyone locally.";
+                    }
+                    statusLabel.setText("Analysis complete: " + ranked + cacheSummary());
+                    if (!failures.isEmpty()) {
+                        showAlert("Error", "Failed to parse " + failures.size() + " file(s):\n"
+                                + String.join("\n", failures));
+                    }
+                });
             }
+        }, ranker == null); // In top-K mode only the ranker keeps candidates
+    }
+
+    private void handleIncrementalAnalysis(JobProfile profile) {
+        // Re-scored off the UI thread on copies; the table switches to them once done
+        List<Candidate> candidates = new ArrayList<>(resultsTable.getItems().size());
+        for (Candidate shown : resultsTable.getItems()) {
+            candidates.add(new Candidate(shown));
         }
+        int selected = resultsTable.getSelectionModel().getSelectedIndex();
+        JobProfile previous = lastProfile;
+        setRunning(true);
+        statusLabel.setText("Re-scoring " + candidates.size() + " candidates against the updated description...");
+
+        CompletableFuture.supplyAsync(() -> scoringEngine.rescoreAsync(candidates, previous, profile))
+                .thenCompose(rescoring -> rescoring)
+                .whenComplete((rescored, error) -> Platform.runLater(() -> {
+                    setRunning(false);
+                    if (error != null) {
+                        error.printStackTrace();
+                        lastProfile = null; // Next click runs a full analysis
+                        statusLabel.setText("Re-scoring failed.");
+                        showAlert("Error", "Could not re-score candidates: " + error.getMessage());
+                        return;
+                    }
+                    lastProfile = profile;
+                    Candidate selection = selected >= 0 ? rescored.get(selected) : null;
+                    List<Candidate> ranked = new ArrayList<>(rescored);
+                    ranked.sort(Comparator.comparingDouble(Candidate::calculateScore).reversed());
+                    resultsTable.getItems().setAll(ranked);
+                    if (selection != null) {
+                        resultsTable.getSelectionModel().select(selection);
+                    }
+                    updateDeepDive(selection);
+                    statusLabel.setText("Re-scored " + rescored.size() + " candidates." + cacheSummary());
+                }));
+    }
 
-        // Sort by score descending
-        candidateList.sort(Comparator.comparingDouble(Candidate::calculateScore).reversed());
-        resultsTable.setItems(candidateList);
+    // Uploads wait while a run is in progress, so the files it analyzed are known exactly.
+    // A watch would rank into the same table, so it cannot start either.
+    private void setRunning(boolean running) {
+        analyzeButton.setDisable(running);
+        uploadButton.setDisable(running);
+        watchButton.setDisable(running);
+    }
+
+    private String cacheSummary() {
+        SimilarityCache cache = scoringEngine.getSimilarityCache();
+        if (cache == null || cache.getHits() + cache.getMisses() == 0)
+            return "";
+        return String.format(" (%d model scores served from cache)", cache.getHits());
     }
 
     private void showAlert(String title, String content) {
@@ -435,11 +751,33 @@ public class GUIController {
 
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Save Report");
-        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("PDF Files", "*.pdf"));
+        FileChooser.ExtensionFilter zipFilter = new FileChooser.ExtensionFilter(
+                "Individual Candidate Reports (ZIP)", "*.zip");
+        FileChooser.ExtensionFilter csvFilter = new FileChooser.ExtensionFilter("CSV Files", "*.csv");
+        FileChooser.ExtensionFilter jsonlFilter = new FileChooser.ExtensionFilter("JSON Lines Files", "*.jsonl");
+        fileChooser.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("PDF Files", "*.pdf"), zipFilter,
+                csvFilter, jsonlFilter);
         fileChooser.setInitialFileName("SmartHire_Report.pdf");
         File file = fileChooser.showSaveDialog(primaryStage);
+        if (file == null)
+            return;
 
-        if (file != null) {
+        String fileName = file.getName().toLowerCase();
+        FileChooser.ExtensionFilter selected = fileChooser.getSelectedExtensionFilter();
+        if (selected == zipFilter || fileName.endsWith(".zip")) {
+            exportDetailReports(new ArrayList<>(resultsTable.getItems()), file);
+        } else if (selected == csvFilter || selected == jsonlFilter
+                || fileName.endsWith(".csv") || fileName.endsWith(".jsonl")) {
+            boolean jsonl = selected == jsonlFilter || fileName.endsWith(".jsonl");
+            try {
+                ResultExporter.export(resultsTable.getItems(), file.toPath(),
+                        jsonl ? ResultExporter.Format.JSONL : ResultExporter.Format.CSV);
+                showAlert("Success", "Results exported successfully to:\n" + file.getAbsolutePath());
+            } catch (IOException e) {
+                e.printStackTrace();
+                showAlert("Export Failed", "Could not write results: " + e.getMessage());
+            }
+        } else {
             try {
                 new PDFExportService().exportResults(resultsTable.getItems(), file);
                 showAlert("Success", "Report exported successfully to:\n" + file.getAbsolutePath());
@@ -449,4 +787,26 @@ public class GUIController {
             }
         }
     }
+
+    // One PDF per candidate can take a while, so it is rendered off the UI thread
+    private void exportDetailReports(List<Candidate> candidates, File file) {
+        statusLabel.setText("Exporting " + candidates.size() + " candidate reports...");
+        CompletableFuture.runAsync(() -> {
+            try {
+                new PDFExportService().exportDetailsZip(candidates, file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((ignored, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                error.printStackTrace();
+                statusLabel.setText("Export failed.");
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                showAlert("Export Failed", "Could not create reports: " + cause.getMessage());
+            } else {
+                statusLabel.setText("Exported " + candidates.size() + " candidate reports.");
+                showAlert("Success", "Reports exported successfully to:\n" + file.getAbsolutePath());
+            }
+        }));
+    }
 }
@@ -1,17 +1,28 @@
 package com.resumescreening.ui;
 
+import com.resumescreening.service.PipelineMetrics;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
 
+import java.time.Duration;
+
 /**
  * Main Entry Point for the JavaFX Application.
+ * Pipeline metrics are published over JMX; start with
+ * -Dsmarthire.metrics.interval=SECONDS to also print them to stderr.
  */
 public class MainApp extends Application {
 
     @Override
     public void start(Stage primaryStage) {
+        PipelineMetrics.registerMBean();
+        int metricsSeconds = Integer.getInteger("smarthire.metrics.interval", 0);
+        if (metricsSeconds > 0) {
+            PipelineMetrics.global().startPeriodicDump(Duration.ofSeconds(metricsSeconds), System.err);
+        }
+
         primaryStage.setTitle("Intelligent Resume Screening System");
 
         try {
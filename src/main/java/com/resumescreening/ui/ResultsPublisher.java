@@ -0,0 +1,180 @@
+package com.resumescreening.ui;
+
+import com.resumescreening.model.Candidate;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.UnaryOperator;
+
+/**
+ * Moves candidates produced on worker threads into the results table without
+ * flooding the FX thread. Updates are queued and applied once per frame, up
+ * to a time budget, with each candidate inserted at its sorted position by
+ * binary search instead of re-sorting the table. Progress labels are
+ * refreshed at most a few times per second.
+ */
+final class ResultsPublisher {
+
+    /**
+     * Shows batch progress; always called on the FX thread.
+     */
+    interface ProgressView {
+        void show(int completed, int total, int shown);
+    }
+
+    private static final long FRAME_BUDGET_NANOS = 8_000_000; // Half a 60fps frame
+    private static final long LABEL_INTERVAL_NANOS = 250_000_000;
+
+    private final ObservableList<Candidate> target;
+    private final Comparator<Candidate> order;
+    private final ProgressView progressView;
+    private final Queue<Update> updates = new ConcurrentLinkedQueue<>();
+    private final Object rankingLock = new Object();
+    private AnimationTimer timer; // Created by start(), so the queue works without a toolkit
+
+    private volatile int completed;
+    private volatile int total;
+    private volatile Runnable onDone;
+    private long lastLabelUpdate;
+
+    ResultsPublisher(ObservableList<Candidate> target, Comparator<Candidate> order, ProgressView progressView) {
+        this.target = target;
+        this.order = order;
+        this.progressView = progressView;
+    }
+
+    /**
+     * Starts flushing on every frame. Call on the FX thread.
+     */
+    void start() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    onFrame(now);
+                }
+            };
+        }
+        timer.start();
+    }
+
+    /**
+     * Stops flushing and drops anything not yet shown. Call on the FX thread.
+     */
+    void cancel() {
+        if (timer != null) {
+            timer.stop();
+        }
+        updates.clear();
+    }
+
+    // The methods below may be called from any thread
+
+    void publish(Candidate candidate) {
+        updates.add(new Update(candidate, true));
+    }
+
+    /**
+     * Publishes a candidate that competes for a place in the table.
+     * {@code ranking} records it and returns the candidate it displaces (to be
+     * retracted), {@code candidate} itself if it did not make the table, or
+     * null. Ranking and queueing happen under one lock, so a retract is never
+     * queued ahead of the publish it undoes.
+     */
+    void publishRanked(Candidate candidate, UnaryOperator<Candidate> ranking) {
+        synchronized (rankingLock) {
+            Candidate displaced = ranking.apply(candidate);
+            if (displaced == candidate)
+                return;
+            if (displaced != null) {
+                updates.add(new Update(displaced, false));
+            }
+            updates.add(new Update(candidate, true));
+        }
+    }
+
+    void progress(int completed, int total) {
+        this.completed = completed;
+        this.total = total;
+    }
+
+    /**
+     * Runs {@code onDone} on the FX thread once every queued update is shown.
+     */
+    void complete(Runnable onDone) {
+        this.onDone = onDone;
+    }
+
+    private void onFrame(long now) {
+        long deadline = System.nanoTime() + FRAME_BUDGET_NANOS;
+        while (System.nanoTime() < deadline && applyNext()) {
+            // Until the queue is empty or the frame budget is spent
+        }
+
+        Runnable done = onDone;
+        boolean finished = done != null && updates.isEmpty();
+        if (finished || now - lastLabelUpdate >= LABEL_INTERVAL_NANOS) {
+            lastLabelUpdate = now;
+            progressView.show(completed, total, target.size());
+        }
+        if (finished) {
+            timer.stop();
+            Platform.runLater(done); // Outside the pulse, so it may open dialogs
+        }
+    }
+
+    // Applies the oldest queued update to the table; false if there was none
+    boolean applyNext() {
+        Update update = updates.poll();
+        if (update == null)
+            return false;
+        if (update.add) {
+            target.add(insertionPoint(update.candidate), update.candidate);
+        } else {
+            remove(update.candidate);
+        }
+        return true;
+    }
+
+    // After any equal elements, so candidates with the same score keep arrival order
+    private int insertionPoint(Candidate candidate) {
+        int low = 0;
+        int high = target.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(target.get(mid), candidate) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void remove(Candidate candidate) {
+        // Only the run of equal elements before the insertion point can hold it
+        List<Candidate> items = target;
+        for (int i = insertionPoint(candidate) - 1; i >= 0 && order.compare(items.get(i), candidate) == 0; i--) {
+            if (items.get(i) == candidate) {
+                items.remove(i);
+                return;
+            }
+        }
+        items.remove(candidate); // Score changed since it was shown
+    }
+
+    private static final class Update {
+        final Candidate candidate;
+        final boolean add;
+
+        Update(Candidate candidate, boolean add) {
+            this.candidate = candidate;
+            this.add = add;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.resumescreening.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Skill lists of a {@link Candidate} stored as skill ids.
+ */
+class CandidateTest {
+
+    private static final List<String> VOCABULARY = List.of("java", "python", "sql", "docker");
+
+    private static BitSet ids(int... indices) {
+        BitSet bits = new BitSet();
+        for (int i : indices) {
+            bits.set(i);
+        }
+        return bits;
+    }
+
+    private static Candidate analyzed() {
+        Candidate c = new Candidate("Ada", "", "", "text");
+        // Resume has java and sql; the JD asks for java, python and docker
+        c.setSkillIds(VOCABULARY, ids(0, 2), ids(0, 1, 3), List.of("teamwork"), ids(0));
+        return c;
+    }
+
+    @Test
+    void derivesMatchedAndMissingSkillsFromIds() {
+        Candidate c = analyzed();
+
+        assertEquals(List.of("java"), c.getMatchedSkills());
+        assertEquals(List.of("python", "docker"), c.getMissingSkills());
+        assertEquals(List.of("teamwork"), c.getMatchedSoftSkills());
+    }
+
+    @Test
+    void settingOneListKeepsTheOther() {
+        Candidate c = analyzed();
+        c.setMatchedSkills(List.of("java", "kotlin"));
+
+        assertEquals(List.of("java", "kotlin"), c.getMatchedSkills());
+        assertEquals(List.of("python", "docker"), c.getMissingSkills());
+
+        Candidate d = analyzed();
+        d.setMissingSkills(List.of("docker"));
+
+        assertEquals(List.of("java"), d.getMatchedSkills());
+        assertEquals(List.of("docker"), d.getMissingSkills());
+    }
+
+    @Test
+    void skillListIsLiveAndStartsFromTheAnalysis() {
+        Candidate c = analyzed();
+
+        c.getSkills().add("git");
+        c.addSkill("linux");
+
+        assertEquals(List.of("java", "sql", "git", "linux"), c.getSkills());
+    }
+
+    @Test
+    void newAnalysisReplacesTheSkillList() {
+        Candidate c = analyzed();
+        c.addSkill("git");
+
+        c.setSkillIds(VOCABULARY, ids(1, 3), ids(0), List.of(), new BitSet());
+
+        assertEquals(List.of("python", "docker"), c.getSkills());
+    }
+
+    @Test
+    void rematchingKeepsSkillListsSetByHand() {
+        Candidate c = analyzed();
+        c.setMatchedSkills(List.of("java", "kotlin"));
+
+        c.setRequiredSkillIds(ids(2)); // The JD now only asks for sql
+
+        assertEquals(List.of("java", "kotlin"), c.getMatchedSkills());
+        assertEquals(List.of("python", "docker"), c.getMissingSkills());
+
+        Candidate d = analyzed();
+        d.setRequiredSkillIds(ids(2));
+
+        assertEquals(List.of("sql"), d.getMatchedSkills());
+        assertEquals(List.of(), d.getMissingSkills());
+    }
+
+    @Test
+    void skillsDerivedFromIdsAreReadOnly() {
+        Candidate c = analyzed();
+
+        assertThrows(UnsupportedOperationException.class, () -> c.getMatchedSkills().add("git"));
+        assertThrows(UnsupportedOperationException.class, () -> c.getMissingSkills().clear());
+        assertThrows(UnsupportedOperationException.class, () -> c.getMatchedSoftSkills().add("humour"));
+    }
+
+    @Test
+    void copyCanBeRematchedWithoutChangingTheOriginal() {
+        Candidate c = analyzed();
+        c.setScore(40);
+        c.addSkill("git");
+
+        Candidate copy = new Candidate(c);
+        copy.setRequiredSkillIds(ids(2));
+        copy.setScore(90);
+        copy.addSkill("linux");
+
+        assertEquals(List.of("sql"), copy.getMatchedSkills());
+        assertEquals(List.of("java"), c.getMatchedSkills());
+        assertEquals(40, c.getCurrentScore());
+        assertEquals(List.of("java", "sql", "git"), c.getSkills());
+        assertEquals(List.of("java", "sql", "git", "linux"), copy.getSkills());
+    }
+}
@@ -0,0 +1,113 @@
+package com.resumescreening.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Disk tier of {@link ParseCache}: failed writes, size limit and keys.
+ */
+class ParseCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private static ParsedResume resume(int textLength) {
+        return new ParsedResume("x".repeat(textLength), "a@b.com", "5550100000", 3);
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void failedWriteLeavesNoTempFile() throws IOException {
+        ParseCache cache = new ParseCache(1_000_000, directory);
+        // writeUTF cannot store strings over 64 KB
+        ParsedResume oversized = new ParsedResume("text", "e".repeat(70_000), "n/a", 0);
+
+        cache.put("key", oversized);
+
+        assertEquals(List.of(), files());
+    }
+
+    @Test
+    void entriesSurviveInANewInstance() {
+        new ParseCache(1_000_000, directory).put("key", resume(100));
+
+        ParsedResume loaded = new ParseCache(1_000_000, directory).get("key");
+
+        assertNotNull(loaded);
+        assertEquals(100, loaded.getText().length());
+        assertEquals(3, loaded.getExperienceYears());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntriesBeyondTheDiskLimit() throws IOException {
+        // Entries last used a second apart, key0 first
+        ParseCache writer = new ParseCache(1_000_000, directory);
+        long oldest = System.currentTimeMillis() - 60_000;
+        List<Path> written = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            writer.put("key" + i, resume(1000));
+            for (Path entry : files()) {
+                if (!written.contains(entry)) {
+                    Files.setLastModifiedTime(entry, FileTime.fromMillis(oldest + i * 1000L));
+                    written.add(entry);
+                }
+            }
+        }
+        long entrySize = Files.size(written.get(0));
+        ParseCache cache = new ParseCache(1, directory, entrySize * 10);
+        assertNotNull(cache.get("key0"));
+
+        cache.put("key10", resume(1000)); // One entry over the limit
+
+        long total = 0;
+        for (Path entry : files()) {
+            total += Files.size(entry);
+        }
+        assertTrue(total <= entrySize * 10 / 4 * 3, "disk tier holds " + total + " bytes");
+        ParseCache reader = new ParseCache(1, directory);
+        assertNotNull(reader.get("key0"), "recently read entry was evicted");
+        assertNotNull(reader.get("key10"), "new entry was evicted");
+        assertNull(reader.get("key1"));
+        assertNull(reader.get("key4"));
+        assertNotNull(reader.get("key5"));
+    }
+
+    @Test
+    void rewritingAnEntryReplacesItsSize() throws IOException {
+        ParseCache cache = new ParseCache(1_000_000, directory);
+        assertEquals(0, cache.diskBytes());
+
+        for (int i = 0; i < 5; i++) {
+            cache.put("key", resume(1000 + i * 100));
+        }
+
+        assertEquals(1, files().size());
+        assertEquals(Files.size(files().get(0)), cache.diskBytes());
+    }
+
+    @Test
+    void keyChangesWithTheYear() {
+        Path file = Path.of("resume.pdf");
+        assertNotEquals(ParseCache.key(file, 10, 20, "v", 2024), ParseCache.key(file, 10, 20, "v", 2025));
+    }
+}
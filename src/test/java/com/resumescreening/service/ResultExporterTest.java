@@ -0,0 +1,46 @@
+package com.resumescreening.service;
+
+import com.resumescreening.model.Candidate;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CSV quoting of {@link ResultExporter}.
+ */
+class ResultExporterTest {
+
+    private static String csv(Candidate... candidates) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ResultExporter out = new ResultExporter(Channels.newChannel(bytes), ResultExporter.Format.CSV)) {
+            for (Candidate c : candidates) {
+                out.write(c);
+            }
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void quotesFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        String out = csv(new Candidate("Lee, Ann", "a@b.com", "1", ""),
+                new Candidate("Ann \"AJ\" Lee", "a@b.com", "1", ""),
+                new Candidate("Ann\nLee", "a@b.com", "1", ""));
+
+        assertTrue(out.contains("\"Lee, Ann\","), out);
+        assertTrue(out.contains("\"Ann \"\"AJ\"\" Lee\","), out);
+        assertTrue(out.contains("\"Ann\nLee\","), out);
+    }
+
+    @Test
+    void quotesFieldsWithABareCarriageReturn() throws IOException {
+        // PDFs with old Mac line endings yield text with CR only
+        String out = csv(new Candidate("Ann\rLee", "a@b.com", "1", ""));
+
+        assertTrue(out.contains("\n\"Ann\rLee\",a@b.com,"), out);
+    }
+}
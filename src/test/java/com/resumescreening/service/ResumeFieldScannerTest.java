@@ -0,0 +1,44 @@
+package com.resumescreening.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Experience detection of {@link ResumeFieldScanner}, in particular which
+ * date ranges count as education.
+ */
+class ResumeFieldScannerTest {
+
+    private static final int YEAR = 2024;
+
+    private static int experience(String text) {
+        return ResumeFieldScanner.scan(text, YEAR).getExperienceYears();
+    }
+
+    @Test
+    void countsWorkDateRanges() {
+        assertEquals(5, experience("Acme Corp, Engineer 2015 - 2020"));
+        assertEquals(6, experience("Engineer 2018 to present"));
+    }
+
+    @Test
+    void ignoresRangesOnEducationLines() {
+        assertEquals(0, experience("University of Somewhere 2010 - 2014"));
+        assertEquals(0, experience("2010 - 2014 Bachelor of Science")); // Word after the range
+        assertEquals(0, experience("Master's in CS, 2014 - 2016"));
+        assertEquals(3, experience("BSc Physics 2010 - 2013\nDeveloper 2016 - 2019"));
+    }
+
+    @Test
+    void educationWordsMustBeWholeWords() {
+        assertEquals(3, experience("Mastered Kubernetes at Acme 2019 - 2022"));
+        assertEquals(4, experience("MasterCard, payments team 2016 - 2020"));
+        assertEquals(2, experience("Preschool app developer 2020 - 2022"));
+    }
+
+    @Test
+    void explicitMentionWinsOverShorterRanges() {
+        assertEquals(8, experience("8+ years of experience\nAcme 2020 - 2022"));
+    }
+}
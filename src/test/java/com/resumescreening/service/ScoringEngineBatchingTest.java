@@ -0,0 +1,173 @@
+package com.resumescreening.service;
+
+import com.resumescreening.model.Candidate;
+import com.resumescreening.model.JobDescription;
+import com.resumescreening.service.StubSimilarityServer.Reply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Batched similarity requests: how candidates are grouped into requests and
+ * how the returned score arrays are mapped back.
+ */
+class ScoringEngineBatchingTest {
+
+    private StubSimilarityServer server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    // Each resume's similarity is its number / 100, so a score shows which resume it belongs to
+    private static Reply similarityByResumeNumber(int call, List<String> sentences) {
+        double[] similarities = new double[sentences.size()];
+        for (int i = 0; i < similarities.length; i++) {
+            similarities[i] = resumeNumber(sentences.get(i)) / 100.0;
+        }
+        return Reply.scores(similarities);
+    }
+
+    private static int resumeNumber(String sentence) {
+        return Integer.parseInt(sentence.split(" ")[1]);
+    }
+
+    private ScoringEngine engineFor(StubSimilarityServer.Responder responder) throws Exception {
+        server = new StubSimilarityServer(responder);
+        ScoringEngine engine = new ScoringEngine("test-key");
+        engine.setEndpoint(server.url());
+        engine.setRequestsPerSecond(0);
+        return engine;
+    }
+
+    private static JobProfile profile(ScoringEngine engine) {
+        return engine.compileProfile(new JobDescription("Backend", "Java Python SQL developer"));
+    }
+
+    private static List<Candidate> candidates(int from, int to) {
+        List<Candidate> list = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            list.add(new Candidate("Candidate " + i, "", "", "Resume " + i + " java sql"));
+        }
+        return list;
+    }
+
+    private List<Integer> requestSizes() {
+        return server.requests().stream().map(List::size).sorted().collect(Collectors.toList());
+    }
+
+    @Test
+    void mapsEveryScoreBackToItsCandidate() throws Exception {
+        ScoringEngine engine = engineFor(ScoringEngineBatchingTest::similarityByResumeNumber);
+        engine.setBatchSize(3);
+        List<Candidate> pool = candidates(0, 7);
+
+        double[] scores = engine.calculateScoresAsync(pool, profile(engine)).join();
+
+        for (int i = 0; i < pool.size(); i++) {
+            assertEquals(i, scores[i], 1e-9, pool.get(i).getName());
+            assertEquals(ScoringEngine.REMOTE_SCORER, pool.get(i).getScoredBy());
+        }
+    }
+
+    @Test
+    void sendsTheJobDescriptionOnceForManyResumes() throws Exception {
+        ScoringEngine engine = engineFor(ScoringEngineBatchingTest::similarityByResumeNumber);
+
+        engine.calculateScoresAsync(candidates(0, 20), profile(engine)).join();
+
+        assertEquals(1, server.requestCount());
+        assertEquals(List.of(20), requestSizes());
+    }
+
+    @Test
+    void splitsPoolsLargerThanTheDefaultBatchSize() throws Exception {
+        ScoringEngine engine = engineFor(ScoringEngineBatchingTest::similarityByResumeNumber);
+        assertEquals(32, engine.getBatchSize());
+        List<Candidate> pool = candidates(0, 70);
+
+        double[] scores = engine.calculateScoresAsync(pool, profile(engine)).join();
+
+        assertEquals(List.of(6, 32, 32), requestSizes());
+        assertEquals(69, scores[69], 1e-9);
+    }
+
+    @Test
+    void batchSizeIsConfigurable() throws Exception {
+        ScoringEngine engine = engineFor(ScoringEngineBatchingTest::similarityByResumeNumber);
+        engine.setBatchSize(4);
+
+        engine.calculateScoresAsync(candidates(0, 10), profile(engine)).join();
+
+        assertEquals(List.of(2, 4, 4), requestSizes());
+        assertThrows(IllegalArgumentException.class, () -> engine.setBatchSize(0));
+    }
+
+    @Test
+    void onlyCacheMissesAreSentAndScoresStayInOrder() throws Exception {
+        ScoringEngine engine = engineFor(ScoringEngineBatchingTest::similarityByResumeNumber);
+        engine.setSimilarityCache(new SimilarityCache(100));
+        JobProfile profile = profile(engine);
+        engine.calculateScoresAsync(candidates(0, 4), profile).join();
+
+        // Cached resumes 0-3 interleaved with new ones
+        List<Candidate> pool = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            pool.addAll(candidates(i, i + 1));
+            pool.addAll(candidates(10 + i, 11 + i));
+        }
+        double[] scores = engine.calculateScoresAsync(pool, profile).join();
+
+        assertEquals(2, server.requestCount());
+        assertEquals(List.of(10, 11, 12, 13), server.requests().get(1).stream()
+                .map(ScoringEngineBatchingTest::resumeNumber).collect(Collectors.toList()));
+        for (int i = 0; i < pool.size(); i++) {
+            assertEquals(resumeNumber(pool.get(i).getRawText()), scores[i], 1e-9);
+        }
+    }
+
+    @Test
+    void wrongNumberOfScoresFallsBackToLocalScoring() throws Exception {
+        ScoringEngine engine = engineFor((call, sentences) -> Reply.scores(sentences.subList(1, sentences.size()),
+                0.5));
+        List<Candidate> pool = candidates(0, 3);
+        JobProfile profile = profile(engine);
+
+        double[] scores = engine.calculateScoresAsync(pool, profile).join();
+
+        assertEquals(1, server.requestCount()); // A malformed answer is not retried
+        KeywordScoringStrategy keyword = new KeywordScoringStrategy();
+        for (int i = 0; i < pool.size(); i++) {
+            assertEquals(keyword.score(pool.get(i), profile), scores[i], 1e-9);
+            assertEquals("keyword", pool.get(i).getScoredBy());
+        }
+    }
+
+    @Test
+    void scoreBatcherGroupsSubmissionsIntoFullBatches() throws Exception {
+        ScoringEngine engine = engineFor(ScoringEngineBatchingTest::similarityByResumeNumber);
+        engine.setBatchSize(2);
+        ScoreBatcher batcher = engine.newScoreBatcher(profile(engine));
+
+        List<CompletableFuture<Double>> scores = new ArrayList<>();
+        for (Candidate c : candidates(0, 5)) {
+            scores.add(batcher.submit(c));
+        }
+        batcher.flush(); // Sends the last, partial batch
+
+        for (int i = 0; i < scores.size(); i++) {
+            assertEquals(i, scores.get(i).join(), 1e-9);
+        }
+        assertEquals(List.of(1, 2, 2), requestSizes());
+    }
+}
@@ -0,0 +1,256 @@
+package com.resumescreening.service;
+
+import com.resumescreening.model.Candidate;
+import com.resumescreening.model.JobDescription;
+import com.resumescreening.service.StubSimilarityServer.Reply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Retry, circuit-breaker and fallback behaviour of remote scoring, against a
+ * local stub of the similarity endpoint.
+ */
+class ScoringEngineRemoteTest {
+
+    private StubSimilarityServer server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private ScoringEngine engineFor(StubSimilarityServer.Responder responder) throws Exception {
+        server = new StubSimilarityServer(responder);
+        ScoringEngine engine = new ScoringEngine("test-key");
+        engine.setEndpoint(server.url());
+        engine.setRequestsPerSecond(0);
+        return engine;
+    }
+
+    private static JobProfile profile(ScoringEngine engine) {
+        return engine.compileProfile(new JobDescription("Backend", "Java Python SQL Docker developer"));
+    }
+
+    private static List<Candidate> candidates(int count) {
+        List<Candidate> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String skills = i % 2 == 0 ? "java sql docker" : "python";
+            list.add(new Candidate("Candidate " + i, "", "", "Resume " + i + " " + skills));
+        }
+        return list;
+    }
+
+    private static double[] keywordScores(List<Candidate> candidates, JobProfile profile) {
+        KeywordScoringStrategy keyword = new KeywordScoringStrategy();
+        double[] scores = new double[candidates.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = keyword.score(candidates.get(i), profile);
+        }
+        return scores;
+    }
+
+    private static void assertScoredBy(String scorer, List<Candidate> candidates) {
+        for (Candidate c : candidates) {
+            assertEquals(scorer, c.getScoredBy(), c.getName());
+        }
+    }
+
+    @Test
+    void retriesThrottledResponsesUntilTheModelAnswers() throws Exception {
+        ScoringEngine engine = engineFor((call, sentences) -> call == 1 ? Reply.status(429).retryAfter("0")
+                : call == 2 ? Reply.status(503).retryAfter("0")
+                : Reply.scores(sentences, 0.5));
+        List<Candidate> pool = candidates(3);
+
+        double[] scores = engine.calculateScoresAsync(pool, profile(engine)).join();
+
+        assertArrayEquals(new double[] { 50, 50, 50 }, scores, 1e-9);
+        assertEquals(3, server.requestCount());
+        assertScoredBy(ScoringEngine.REMOTE_SCORER, pool);
+        assertFalse(engine.isCircuitOpen());
+    }
+
+    @Test
+    void waitsAsLongAsRetryAfterAsks() throws Exception {
+        ScoringEngine engine = engineFor((call, sentences) -> call == 1 ? Reply.status(429).retryAfter("1")
+                : Reply.scores(sentences, 0.8));
+        long start = System.nanoTime();
+
+        engine.calculateScoresAsync(candidates(1), profile(engine)).join();
+
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(waitedMillis >= 1000, "retried after " + waitedMillis + "ms");
+        assertEquals(2, server.requestCount());
+    }
+
+    @Test
+    void retriesARequestThatTimesOut() throws Exception {
+        ScoringEngine engine = engineFor((call, sentences) -> call == 1
+                ? Reply.scores(sentences, 0.9).delayed(2000)
+                : Reply.scores(sentences, 0.7));
+        engine.setRequestTimeout(Duration.ofMillis(200));
+        List<Candidate> pool = candidates(2);
+
+        double[] scores = engine.calculateScoresAsync(pool, profile(engine)).join();
+
+        assertArrayEquals(new double[] { 70, 70 }, scores, 1e-9);
+        assertEquals(2, server.requestCount());
+    }
+
+    @Test
+    void fallsBackToLocalScoresOnceRetriesAreExhausted() throws Exception {
+        ScoringEngine engine = engineFor((call, sentences) -> Reply.status(503).retryAfter("0"));
+        engine.setMaxRetries(2);
+        List<Candidate> pool = candidates(4);
+        JobProfile profile = profile(engine);
+
+        double[] scores = engine.calculateScoresAsync(pool, profile).join();
+
+        assertEquals(3, server.requestCount()); // First attempt and two retries
+        assertArrayEquals(keywordScores(pool, profile), scores, 1e-9);
+        assertScoredBy("keyword", pool);
+    }
+
+    @Test
+    void doesNotRetryOtherErrors() throws Exception {
+        ScoringEngine engine = engineFor((call, sentences) -> Reply.status(400));
+
+        engine.calculateScoresAsync(candidates(2), profile(engine)).join();
+
+        assertEquals(1, server.requestCount());
+    }
+
+    @Test
+    void openBreakerStopsCallingTheModel() throws Exception {
+        ScoringEngine engine = engineFor((call, sentences) -> Reply.status(500));
+        engine.setCircuitBreaker(2, Duration.ofMinutes(1));
+        JobProfile profile = profile(engine);
+
+        engine.calculateScoresAsync(candidates(2), profile).join();
+        assertFalse(engine.isCircuitOpen());
+        engine.calculateScoresAsync(candidates(2), profile).join();
+        assertTrue(engine.isCircuitOpen());
+
+        List<Candidate> pool = candidates(5);
+        double[] scores = engine.calculateScoresAsync(pool, profile).join();
+
+        assertEquals(2, server.requestCount());
+        assertArrayEquals(keywordScores(pool, profile), scores, 1e-9);
+        assertScoredBy("keyword", pool);
+    }
+
+    @Test
+    void halfOpenBreakerSendsOneTrialAndClosesWhenItSucceeds() throws Exception {
+        ScoringEngine engine = engineFor((call, sentences) -> Reply.status(500));
+        engine.setCircuitBreaker(1, Duration.ofMillis(200));
+        engine.setBatchSize(2);
+        JobProfile profile = profile(engine);
+        engine.calculateScoresAsync(candidates(1), profile).join();
+        assertTrue(engine.isCircuitOpen());
+
+        Thread.sleep(300);
+        server.setResponder((call, sentences) -> Reply.scores(sentences, 0.6).delayed(100));
+        List<Candidate> pool = candidates(10); // Five chunks, but only one may be the trial
+        engine.calculateScoresAsync(pool, profile).join();
+
+        assertEquals(2, server.requestCount());
+        assertFalse(engine.isCircuitOpen());
+        assertScoredBy("keyword", pool); // The other chunks were refused, so the call fell back as a whole
+
+        double[] scores = engine.calculateScoresAsync(pool, profile).join();
+        assertEquals(7, server.requestCount());
+        assertEquals(60, scores[9], 1e-9);
+        assertScoredBy(ScoringEngine.REMOTE_SCORER, pool);
+    }
+
+    @Test
+    void failedTrialOpensTheBreakerAgain() throws Exception {
+        ScoringEngine engine = engineFor((call, sentences) -> Reply.status(500));
+        engine.setCircuitBreaker(1, Duration.ofMillis(200));
+        JobProfile profile = profile(engine);
+        engine.calculateScoresAsync(candidates(1), profile).join();
+
+        Thread.sleep(300);
+        engine.calculateScoresAsync(candidates(1), profile).join();
+
+        assertEquals(2, server.requestCount());
+        assertTrue(engine.isCircuitOpen());
+    }
+
+    @Test
+    void oneFailedChunkMakesTheWholeCallFallBack() throws Exception {
+        // The chunk holding resume 3 fails; the others succeed
+        ScoringEngine engine = engineFor((call, sentences) -> sentences.stream().anyMatch(s -> s.startsWith("Resume 3"))
+                ? Reply.status(400)
+                : Reply.scores(sentences, 0.9));
+        engine.setBatchSize(2);
+        List<Candidate> pool = candidates(6);
+        JobProfile profile = profile(engine);
+
+        double[] scores = engine.calculateScoresAsync(pool, profile).join();
+
+        assertEquals(3, server.requestCount());
+        assertArrayEquals(keywordScores(pool, profile), scores, 1e-9);
+        assertScoredBy("keyword", pool);
+    }
+
+    @Test
+    void skillsOnlyJdEditRescoresFallbackCandidatesLocally() throws Exception {
+        ScoringEngine engine = engineFor((call, sentences) -> Reply.status(400));
+        // The edit is past the part of the JD sent to the model
+        String intro = "developer ".repeat(JobProfile.MAX_REMOTE_CHARS / 10);
+        JobProfile previous = engine.compileProfile(new JobDescription("Backend", intro + "Java Python"));
+        JobProfile updated = engine.compileProfile(new JobDescription("Backend", intro + "Java Python Docker"));
+        List<Candidate> pool = candidates(4);
+        for (Candidate c : pool) {
+            engine.performSkillAnalysis(c, previous);
+        }
+        engine.calculateScoresAsync(pool, previous).join();
+        assertScoredBy("keyword", pool);
+
+        engine.rescoreAsync(pool, previous, updated).join();
+
+        assertEquals(1, server.requestCount()); // The model sees the same text, so it is not asked again
+        double[] expected = keywordScores(pool, updated);
+        for (int i = 0; i < pool.size(); i++) {
+            assertEquals(expected[i], pool.get(i).getCurrentScore(), 1e-9, pool.get(i).getName());
+        }
+        assertTrue(expected[0] != keywordScores(pool, previous)[0], "edit did not change the keyword score");
+    }
+
+    @Test
+    void streamedRunSwitchesToLocalScoringOnlyOnce() throws Exception {
+        // The third group fails; the model is healthy again afterwards
+        ScoringEngine engine = engineFor((call, sentences) -> call == 3 ? Reply.status(400)
+                : Reply.scores(sentences, 0.9));
+        engine.setBatchSize(2);
+        JobProfile profile = profile(engine);
+        ScoreBatcher batcher = engine.newScoreBatcher(profile);
+        List<Candidate> pool = candidates(8);
+
+        for (int group = 0; group < 4; group++) {
+            List<CompletableFuture<Double>> scores = new ArrayList<>();
+            for (Candidate c : pool.subList(group * 2, group * 2 + 2)) {
+                scores.add(batcher.submit(c));
+            }
+            CompletableFuture.allOf(scores.toArray(new CompletableFuture<?>[0])).join();
+        }
+
+        assertEquals(3, server.requestCount()); // Nothing is sent after the switch
+        assertTrue(batcher.isLocalOnly());
+        assertScoredBy(ScoringEngine.REMOTE_SCORER, pool.subList(0, 4));
+        assertScoredBy("keyword", pool.subList(4, 8));
+    }
+}
@@ -0,0 +1,150 @@
+package com.resumescreening.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the sentence-similarity endpoint. Each request is
+ * answered by a {@link Responder}; the sentences of every request are kept so
+ * tests can check how candidates were batched.
+ */
+final class StubSimilarityServer implements AutoCloseable {
+
+    /**
+     * Answers the {@code call}-th request (starting at 1).
+     */
+    interface Responder {
+        Reply respond(int call, List<String> sentences) throws Exception;
+    }
+
+    static final class Reply {
+        final int status;
+        final String body;
+        String retryAfter;
+        long delayMillis;
+
+        private Reply(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        /** 200 with one similarity per sentence, all equal to {@code similarity}. */
+        static Reply scores(List<String> sentences, double similarity) {
+            double[] values = new double[sentences.size()];
+            Arrays.fill(values, similarity);
+            return scores(values);
+        }
+
+        static Reply scores(double... similarities) {
+            JSONArray array = new JSONArray();
+            for (double s : similarities) {
+                array.put(s);
+            }
+            return new Reply(200, array.toString());
+        }
+
+        static Reply status(int status) {
+            return new Reply(status, "stub error " + status);
+        }
+
+        Reply retryAfter(String seconds) {
+            this.retryAfter = seconds;
+            return this;
+        }
+
+        Reply delayed(long millis) {
+            this.delayMillis = millis;
+            return this;
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<List<String>> requests = Collections.synchronizedList(new ArrayList<>());
+    private volatile Responder responder;
+
+    StubSimilarityServer(Responder responder) throws IOException {
+        this.responder = responder;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    void setResponder(Responder responder) {
+        this.responder = responder;
+    }
+
+    int requestCount() {
+        return calls.get();
+    }
+
+    /** Sentences of every request received, in arrival order. */
+    List<List<String>> requests() {
+        synchronized (requests) {
+            return new ArrayList<>(requests);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            JSONArray array = new JSONObject(body).getJSONObject("inputs").getJSONArray("sentences");
+            List<String> sentences = new ArrayList<>();
+            for (int i = 0; i < array.length(); i++) {
+                sentences.add(array.getString(i));
+            }
+            requests.add(sentences);
+            Reply reply;
+            try {
+                reply = responder.respond(calls.incrementAndGet(), sentences);
+            } catch (Exception e) {
+                reply = Reply.status(500);
+            }
+            if (reply.delayMillis > 0) {
+                try {
+                    Thread.sleep(reply.delayMillis);
+                } catch (InterruptedException e) {
+                    return; // Server stopping
+                }
+            }
+            if (reply.retryAfter != null) {
+                exchange.getResponseHeaders().add("Retry-After", reply.retryAfter);
+            }
+            byte[] out = reply.body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(reply.status, out.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(out);
+            }
+        } catch (IOException e) {
+            // Client gave up (e.g. timed out) before the reply was written
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,75 @@
+package com.resumescreening.service;
+
+import com.resumescreening.model.Candidate;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Selection and ordering of {@link TopKRanker}.
+ */
+class TopKRankerTest {
+
+    private static Candidate candidate(String name, String path, double score) {
+        Candidate c = new Candidate(name, "", "", "");
+        c.setSourcePath(path);
+        c.setScore(score);
+        return c;
+    }
+
+    private static List<String> names(List<Candidate> candidates) {
+        return candidates.stream().map(Candidate::getName).collect(Collectors.toList());
+    }
+
+    @Test
+    void keepsTheBestKBestFirst() {
+        TopKRanker ranker = new TopKRanker(2);
+        assertNull(ranker.offer(candidate("a", "/r/a.pdf", 10)));
+        assertNull(ranker.offer(candidate("b", "/r/b.pdf", 30)));
+        Candidate dropped = ranker.offer(candidate("c", "/r/c.pdf", 20));
+
+        assertEquals("a", dropped.getName());
+        assertEquals(List.of("b", "c"), names(ranker.ranked()));
+        assertEquals(3, ranker.getSeen());
+    }
+
+    @Test
+    void tiesAreBrokenByNameThenPathWhateverTheArrivalOrder() {
+        List<Candidate> pool = new ArrayList<>();
+        pool.add(candidate("Kim", "/r/kim-2.pdf", 50));
+        pool.add(candidate("Kim", "/r/kim-1.pdf", 50));
+        pool.add(candidate("Ann", "/r/ann.pdf", 50));
+        pool.add(candidate("Zoe", "/r/zoe.pdf", 50));
+        pool.add(candidate("Bob", "/r/bob.pdf", 40));
+
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            Collections.shuffle(pool, random);
+            TopKRanker ranker = new TopKRanker(3);
+            pool.forEach(ranker::offer);
+
+            List<String> kept = ranker.ranked().stream().map(c -> c.getName() + " " + c.getSourcePath())
+                    .collect(Collectors.toList());
+            assertEquals(List.of("Ann /r/ann.pdf", "Kim /r/kim-1.pdf", "Kim /r/kim-2.pdf"), kept);
+        }
+    }
+
+    @Test
+    void droppedRecordsKeepTheSourceFile() {
+        TopKRanker ranker = new TopKRanker(1);
+        ranker.offer(candidate("a", "/r/a.pdf", 90));
+        ranker.offer(candidate("b", "/r/b.pdf", 10));
+
+        TopKRanker.ScoreRecord record = ranker.getDropped().get(0);
+        assertEquals("b", record.getName());
+        assertEquals("/r/b.pdf", record.getSourcePath());
+        assertEquals(10, record.getScore(), 1e-9);
+    }
+}
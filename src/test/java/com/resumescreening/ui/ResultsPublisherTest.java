@@ -0,0 +1,108 @@
+package com.resumescreening.ui;
+
+import com.resumescreening.model.Candidate;
+import com.resumescreening.service.TopKRanker;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ranked publishing from many worker threads while the table is updated
+ * concurrently, as the FX thread would. Runs without a JavaFX toolkit.
+ */
+class ResultsPublisherTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 2000;
+
+    private final ObservableList<Candidate> table = FXCollections.observableArrayList();
+    private final ResultsPublisher publisher = new ResultsPublisher(table,
+            Comparator.comparingDouble(Candidate::calculateScore).reversed(), (completed, total, shown) -> { });
+
+    private static Candidate candidate(String name, double score) {
+        Candidate c = new Candidate(name, "", "", "");
+        c.setScore(score);
+        return c;
+    }
+
+    // Runs every producer on its own thread while this thread applies updates; returns the largest table seen
+    private int publishConcurrently(Consumer<Integer> producer) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> producers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            producers.add(pool.submit(() -> {
+                start.await();
+                producer.accept(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        int largest = 0;
+        while (!producers.stream().allMatch(Future::isDone)) {
+            if (publisher.applyNext()) {
+                largest = Math.max(largest, table.size());
+            }
+        }
+        while (publisher.applyNext()) {
+            largest = Math.max(largest, table.size());
+        }
+        for (Future<?> f : producers) {
+            f.get(); // Rethrows a producer's failure
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        return largest;
+    }
+
+    @Test
+    void topKTableNeverHoldsMoreThanK() throws Exception {
+        int k = 10;
+        TopKRanker ranker = new TopKRanker(k);
+
+        int largest = publishConcurrently(thread -> {
+            Random random = new Random(thread);
+            for (int i = 0; i < PER_THREAD; i++) {
+                publisher.publishRanked(candidate("C" + thread + "-" + i, random.nextDouble() * 100), ranker::offer);
+            }
+        });
+
+        assertTrue(largest <= k, "table held " + largest + " rows");
+        assertEquals(new HashSet<>(ranker.ranked()), new HashSet<>(table));
+    }
+
+    @Test
+    void newVersionOfAFileReplacesItsRow() throws Exception {
+        Map<String, Candidate> latest = new ConcurrentHashMap<>();
+        int files = 50;
+
+        int largest = publishConcurrently(thread -> {
+            Random random = new Random(thread);
+            for (int i = 0; i < PER_THREAD; i++) {
+                String file = "resume" + random.nextInt(files) + ".pdf";
+                publisher.publishRanked(candidate(file, random.nextDouble() * 100), c -> latest.put(file, c));
+            }
+        });
+
+        assertTrue(largest <= files, "table held " + largest + " rows");
+        assertEquals(new HashSet<>(latest.values()), new HashSet<>(table));
+    }
+}